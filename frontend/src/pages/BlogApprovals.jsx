@@ -79,8 +79,8 @@ const BlogApprovals = () => {
                   <tr key={blog.blogId} style={{ borderLeft: '4px solid #ffc107' }}>
                     <td style={{ fontWeight: '500', padding: '1rem' }}>{blog.title}</td>
                     <td style={{ padding: '1rem' }}>
-                      <div><strong>{blog.author?.name}</strong></div>
-                      <div className="text-muted small">{blog.author?.email}</div>
+                      <div><strong>{blog.authorName}</strong></div>
+                      <div className="text-muted small">{blog.authorEmail}</div>
                     </td>
                     <td style={{ padding: '1rem' }}><Badge bg="info" style={{ fontSize: '0.85rem', fontWeight: '600' }}>{blog.category}</Badge></td>
                     <td style={{ padding: '1rem' }}>
@@ -28,15 +28,18 @@ const Blogs = () => {
   const isModerator = user && (user.role === USER_ROLES.ADMIN || user.role === USER_ROLES.SUPERVISOR);
 
   useEffect(() => {
-    loadBlogs();
-  }, [filters.status, filters.category]);
+    // Search runs on the server (title and full content); wait for typing to pause
+    const timer = setTimeout(loadBlogs, filters.search ? 300 : 0);
+    return () => clearTimeout(timer);
+  }, [filters.status, filters.category, filters.search]);
 
   const loadBlogs = async () => {
     setLoading(true);
     try {
       const filterParams = {
         status: filters.status || undefined,
-        category: filters.category || undefined
+        category: filters.category || undefined,
+        search: filters.search.trim() || undefined
       };
       let data = await blogService.getAllBlogs(filterParams);
       
@@ -44,7 +47,7 @@ const Blogs = () => {
       if (user && user.role === USER_ROLES.STUDENT) {
         // Students see approved blogs + their own blogs in any state
         data = Array.isArray(data) ? data.filter(blog => 
-          blog.status === 'APPROVED' || blog.author?.userId === user.userId
+          blog.status === 'APPROVED' || blog.authorId === user.userId
         ) : [];
       }
       
@@ -91,11 +94,6 @@ const Blogs = () => {
     }
   };
 
-  const filteredBlogs = blogs.filter(blog =>
-    blog.title.toLowerCase().includes(filters.search.toLowerCase()) ||
-    blog.content.toLowerCase().includes(filters.search.toLowerCase())
-  );
-
   return (
     <Container className="py-4" style={{ marginTop: '100px' }}>
       {error && <Alert variant="danger" dismissible onClose={() => setError('')}>{error}</Alert>}
@@ -168,7 +166,7 @@ const Blogs = () => {
         </div>
       ) : (
         <Row className="g-3">
-          {filteredBlogs.map(blog => (
+          {blogs.map(blog => (
             <Col xs={12} sm={6} lg={4} key={blog.blogId}>
               <Card className="blogs h-100" style={{ boxShadow: '0 4px 8px rgba(0, 0, 0, 0.1)', border: '1px solid var(--border-color)', minHeight: '320px', position: 'relative', overflow: 'hidden' }}>
                 {blog.reportCount > 0 && (
@@ -199,9 +197,9 @@ const Blogs = () => {
                     <Badge bg={getStatusVariant(blog.status)}>{blog.status}</Badge>
                   </div>
                   <Card.Title style={{ fontSize: '1.25rem', fontWeight: '600', marginBottom: '0.75rem' }}>{blog.title}</Card.Title>
-                  <Card.Text style={{ color: 'var(--text-secondary)', lineHeight: '1.6' }}>{truncateText(blog.content, 150)}</Card.Text>
+                  <Card.Text style={{ color: 'var(--text-secondary)', lineHeight: '1.6' }}>{truncateText(blog.excerpt, 150)}</Card.Text>
                   <div className="text-muted small mb-3">
-                    ✍️ By: <strong>{blog.author?.name}</strong>
+                    ✍️ By: <strong>{blog.authorName}</strong>
                   </div>
                   <div className="d-flex gap-2 flex-wrap">
                     <Button 
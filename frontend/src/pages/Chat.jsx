@@ -20,7 +20,8 @@ const Chat = () => {
     const [messageInput, setMessageInput] = useState('');
     const [stompClient, setStompClient] = useState(null);
     const [isTyping, setIsTyping] = useState(false);
-    const [typingUsers, setTypingUsers] = useState(new Set());
+    // userId -> { userName, expiresAt }
+    const [typingUsers, setTypingUsers] = useState(new Map());
     const [searchQuery, setSearchQuery] = useState('');
     const [showNewChatModal, setShowNewChatModal] = useState(false);
     const [showMembersModal, setShowMembersModal] = useState(false);
@@ -30,6 +31,7 @@ const Chat = () => {
     const [conversationSearch, setConversationSearch] = useState('');
     const messagesEndRef = useRef(null);
     const typingTimeoutRef = useRef(null);
+    const typingSentAtRef = useRef(0);
 
     useEffect(() => {
         loadConversations();
@@ -102,24 +104,39 @@ const Chat = () => {
             const typingSub = stompClient.subscribe(
                 `/topic/conversation/${selectedConversation.conversationId}/typing`,
                 (message) => {
+                    // Frames carry start/stop changes (possibly from several server nodes); merge them
                     const data = JSON.parse(message.body);
-                    if (data.userId !== user.userId) {
-                        if (data.isTyping) {
-                            setTypingUsers(prev => new Set(prev).add(data.userName));
-                        } else {
-                            setTypingUsers(prev => {
-                                const newSet = new Set(prev);
-                                newSet.delete(data.userName);
-                                return newSet;
+                    const expiresAt = Date.now() + (data.ttlMs || 5000);
+                    setTypingUsers(prev => {
+                        const next = new Map(prev);
+                        (data.changes || [])
+                            .filter(typer => typer.userId !== user.userId)
+                            .forEach(typer => {
+                                if (typer.typing) {
+                                    next.set(typer.userId, { userName: typer.userName, expiresAt });
+                                } else {
+                                    next.delete(typer.userId);
+                                }
                             });
-                        }
-                    }
+                        return next;
+                    });
                 }
             );
 
+            // Drop typers whose last "typing" change is older than the TTL
+            const expiry = setInterval(() => {
+                const now = Date.now();
+                setTypingUsers(prev => {
+                    const next = new Map([...prev].filter(([, typer]) => typer.expiresAt > now));
+                    return next.size === prev.size ? prev : next;
+                });
+            }, 1000);
+
             return () => {
                 subscription.unsubscribe();
                 typingSub.unsubscribe();
+                clearInterval(expiry);
+                setTypingUsers(new Map());
             };
         }
     }, [stompClient, selectedConversation]);
@@ -177,6 +194,7 @@ const Chat = () => {
 
     const handleTyping = (typing) => {
         if (!selectedConversation) return;
+        typingSentAtRef.current = typing ? Date.now() : 0;
 
         stompClient?.publish({
             destination: '/app/chat.typing',
@@ -192,7 +210,8 @@ const Chat = () => {
     const handleInputChange = (e) => {
         setMessageInput(e.target.value);
 
-        if (!isTyping) {
+        // Repeat while typing continues so other clients do not expire this typer
+        if (!isTyping || Date.now() - typingSentAtRef.current > 2000) {
             setIsTyping(true);
             handleTyping(true);
         }
@@ -420,7 +439,7 @@ const Chat = () => {
                                         ))}
                                         {typingUsers.size > 0 && (
                                             <div className="typing-indicator">
-                                                {Array.from(typingUsers).join(', ')} typing...
+                                                {Array.from(typingUsers.values()).map(typer => typer.userName).join(', ')} typing...
                                             </div>
                                         )}
                                         <div ref={messagesEndRef} />
@@ -172,7 +172,7 @@ const Leaderboard = () => {
                     style={{ cursor: type === LEADERBOARD_TYPES.MEMBERS ? 'pointer' : 'default' }}
                   >
                     <td>
-                      <h4 className="mb-0 text-muted">#{index + 1}</h4>
+                      <h4 className="mb-0 text-muted">#{item.rank || index + 1}</h4>
                     </td>
                     {type === LEADERBOARD_TYPES.MEMBERS ? (
                       <>
@@ -182,11 +182,11 @@ const Leaderboard = () => {
                             <Badge bg="info" className="ms-2">You</Badge>
                           )}
                         </td>
-                        <td>{item.university?.name}</td>
+                        <td>{item.universityName}</td>
                         <td>
-                          {item.currentBadge && (
-                            <Badge bg={getBadgeColor(item.currentBadge.name)}>
-                              {item.currentBadge.name}
+                          {item.badgeName && (
+                            <Badge bg={getBadgeColor(item.badgeName)}>
+                              {item.badgeName}
                             </Badge>
                           )}
                         </td>
@@ -197,10 +197,10 @@ const Leaderboard = () => {
                     ) : (
                       <>
                         <td><strong>{item.title}</strong></td>
-                        <td>{item.creator?.name}</td>
+                        <td>{item.creatorName}</td>
                         <td><Badge bg="secondary">{item.type}</Badge></td>
                         <td className="text-end">
-                          <Badge bg="success" pill>{item.participants?.length || 0}</Badge>
+                          <Badge bg="success" pill>{item.participantCount || 0}</Badge>
                         </td>
                       </>
                     )}
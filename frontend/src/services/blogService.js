@@ -10,6 +10,7 @@ const blogService = {
     if (filters.category) params.append('category', filters.category);
     if (filters.status) params.append('status', filters.status);
     if (filters.isGlobal !== undefined) params.append('isGlobal', filters.isGlobal);
+    if (filters.search) params.append('search', filters.search);
     
     const response = await api.get(`/blogs?${params.toString()}`);
     return response.data;
@@ -0,0 +1,33 @@
+package com.example.unihub.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for {@code @Async} work. Bulk badge recalculation runs on a single thread so two
+ * runs never overlap; at most one more run waits behind it. Further submissions are rejected
+ * with a TaskRejectedException so callers can report that nothing new was started.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String BADGE_RECALCULATION_EXECUTOR = "badgeRecalculationExecutor";
+
+    @Bean(name = BADGE_RECALCULATION_EXECUTOR)
+    public ThreadPoolTaskExecutor badgeRecalculationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("badge-recalc-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.unihub.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds trigram GIN indexes on lower(title) and lower(content) for the blog feed search.
+ * The search is a case-insensitive substring LIKE (see BlogSpecifications.matchesText),
+ * which pg_trgm can answer from these indexes instead of scanning every blog's content.
+ * Without the extension the search still works, just unindexed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlogSearchIndexInitializer implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            if (!tableExists("blogs")) {
+                log.info("Skipping blog search index setup: blogs table does not exist yet");
+                return;
+            }
+
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_blogs_title_trgm ON blogs USING GIN (lower(title) gin_trgm_ops)"
+            );
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_blogs_content_trgm ON blogs USING GIN (lower(content) gin_trgm_ops)"
+            );
+            log.info("Blog search indexes are ready");
+        } catch (Exception ex) {
+            log.error("Blog search indexes could not be created, blog search will scan the table: {}", ex.getMessage());
+        }
+    }
+
+    private boolean tableExists(String tableName) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?",
+            Integer.class,
+            tableName
+        );
+        return count != null && count > 0;
+    }
+}
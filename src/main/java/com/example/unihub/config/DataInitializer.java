@@ -4,6 +4,7 @@ import com.example.unihub.model.Badge;
 import com.example.unihub.model.University;
 import com.example.unihub.repository.BadgeRepository;
 import com.example.unihub.repository.UniversityRepository;
+import com.example.unihub.service.BadgeLadderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -16,6 +17,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private final BadgeRepository badgeRepository;
     private final UniversityRepository universityRepository;
+    private final BadgeLadderService badgeLadderService;
 
     @Override
     public void run(String... args) {
@@ -64,6 +66,7 @@ public class DataInitializer implements CommandLineRunner {
             badgeRepository.save(grandmaster);
 
             log.info("Initialized {} gaming-inspired badges", badgeRepository.count());
+            badgeLadderService.reload();
         }
     }
 
@@ -0,0 +1,49 @@
+package com.example.unihub.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the full-text search column and GIN index used by chat search. The column is
+ * generated from content, so edits and deletes keep it up to date without extra writes.
+ * Startup fails if either cannot be created.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessageSearchIndexInitializer implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        // Chat search queries search_vector directly, so the app must not start without it
+        if (!tableExists("messages")) {
+            throw new IllegalStateException("Cannot set up message search: messages table does not exist");
+        }
+        try {
+            jdbcTemplate.execute(
+                "ALTER TABLE messages ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (to_tsvector('simple', COALESCE(content, ''))) STORED"
+            );
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_messages_search_vector ON messages USING GIN (search_vector)"
+            );
+            log.info("Message search index is ready");
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create the message search column or index", ex);
+        }
+    }
+
+    private boolean tableExists(String tableName) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?",
+            Integer.class,
+            tableName
+        );
+        return count != null && count > 0;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.unihub.controller;
 
+import com.example.unihub.dto.response.PointsSourceTotal;
+import com.example.unihub.dto.response.PointsTrendPoint;
 import com.example.unihub.enums.BlogStatus;
 import com.example.unihub.enums.EventStatus;
 import com.example.unihub.enums.UserRole;
@@ -8,13 +10,19 @@ import com.example.unihub.model.User;
 import com.example.unihub.repository.BlogRepository;
 import com.example.unihub.repository.EventRepository;
 import com.example.unihub.repository.UserRepository;
+import com.example.unihub.service.BadgeRecalculationService;
+import com.example.unihub.service.GamificationPipeline;
+import com.example.unihub.service.PointsRollupService;
 import com.example.unihub.service.UniversityService;
 import com.example.unihub.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +37,9 @@ public class AdminController {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final BlogRepository blogRepository;
+    private final PointsRollupService pointsRollupService;
+    private final BadgeRecalculationService badgeRecalculationService;
+    private final GamificationPipeline gamificationPipeline;
 
     /**
      * Get all users
@@ -104,12 +115,16 @@ public class AdminController {
             String roleStr = (String) updates.get("role");
             user.setRole(UserRole.valueOf(roleStr));
         }
+        
+        User updatedUser = userRepository.save(user);
         if (updates.containsKey("points")) {
+            // Points are not written through the entity, see User.points
             Integer points = Integer.parseInt(updates.get("points").toString());
-            user.setPoints(points);
+            userService.setPoints(id, points);
+            badgeRecalculationService.recalculateUser(id);
+            // The badge was written with JDBC; the entity loaded above still has the old one
+            updatedUser = userService.reloadUser(id);
         }
-        
-        User updatedUser = userRepository.save(user);
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -123,6 +138,30 @@ public class AdminController {
         return ResponseEntity.ok("User deactivated");
     }
 
+    /**
+     * Recalculate every user's current badge against the badge thresholds (runs in the background)
+     * POST /api/admin/badges/recalculate
+     */
+    @PostMapping("/badges/recalculate")
+    public ResponseEntity<String> recalculateBadges() {
+        try {
+            badgeRecalculationService.recalculateAll();
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A badge recalculation is already running and another one is queued");
+        }
+        return ResponseEntity.accepted().body("Badge recalculation started");
+    }
+
+    /**
+     * Re-queue points changes the gamification worker gave up on
+     * POST /api/admin/gamification/replay-failed
+     */
+    @PostMapping("/gamification/replay-failed")
+    public ResponseEntity<Map<String, Integer>> replayFailedPointsChanges() {
+        return ResponseEntity.ok(Map.of("replayed", gamificationPipeline.replayFailed()));
+    }
+
     /**
      * Get all universities
      * GET /api/admin/universities
@@ -206,4 +245,33 @@ public class AdminController {
         
         return ResponseEntity.ok(analytics);
     }
+
+    /**
+     * Points awarded per day, from the daily rollups (defaults to the last 30 days)
+     * GET /api/admin/analytics/points?universityId=1&from=2025-01-01&to=2025-01-31
+     */
+    @GetMapping("/analytics/points")
+    public ResponseEntity<List<PointsTrendPoint>> getPointsTrend(
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(pointsRollupService.getPointsTrend(universityId, start, end));
+    }
+
+    /**
+     * Source types that produced the most points, from the daily rollups (defaults to the last 30 days)
+     * GET /api/admin/analytics/top-sources?universityId=1&from=2025-01-01&to=2025-01-31&limit=5
+     */
+    @GetMapping("/analytics/top-sources")
+    public ResponseEntity<List<PointsSourceTotal>> getTopSources(
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "5") int limit) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(pointsRollupService.getTopSources(universityId, start, end, limit));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.unihub.controller;
 
 import com.example.unihub.dto.request.CreateBlogRequest;
+import com.example.unihub.dto.response.BlogSummary;
 import com.example.unihub.enums.BlogStatus;
 import com.example.unihub.model.Blog;
 import com.example.unihub.model.User;
@@ -9,6 +10,7 @@ import com.example.unihub.service.UserService;
 import com.example.unihub.util.AuthenticationUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -27,18 +29,35 @@ public class BlogController {
 
     /**
      * Get all blogs with optional filters
-     * GET /api/blogs?universityId=1&status=APPROVED&category=ARTICLE
+     * GET /api/blogs?universityId=1&status=APPROVED&category=ARTICLE&search=exam
      */
     @GetMapping
-    public ResponseEntity<List<Blog>> getAllBlogs(
+    public ResponseEntity<List<BlogSummary>> getAllBlogs(
             @RequestParam(required = false) Long universityId,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) BlogStatus status,
-            @RequestParam(required = false) Boolean isGlobal) {
-        List<Blog> blogs = blogService.getAllBlogs(universityId, category, status, isGlobal);
+            @RequestParam(required = false) Boolean isGlobal,
+            @RequestParam(required = false) String search) {
+        List<BlogSummary> blogs = blogService.getAllBlogs(universityId, category, status, isGlobal, search);
         return ResponseEntity.ok(blogs);
     }
 
+    /**
+     * Get one page of blogs with optional filters (newest first)
+     * GET /api/blogs?universityId=1&status=APPROVED&category=ARTICLE&search=exam&page=0&size=20
+     */
+    @GetMapping(params = "page")
+    public ResponseEntity<Page<BlogSummary>> getBlogs(
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BlogStatus status,
+            @RequestParam(required = false) Boolean isGlobal,
+            @RequestParam(required = false) String search,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(blogService.getBlogs(universityId, category, status, isGlobal, search, page, size));
+    }
+
     /**
      * Get blog by ID
      * GET /api/blogs/{id}
@@ -106,10 +125,10 @@ public class BlogController {
      * GET /api/blogs/my-blogs
      */
     @GetMapping("/my-blogs")
-    public ResponseEntity<List<Blog>> getMyBlogs(Authentication authentication) {
+    public ResponseEntity<List<BlogSummary>> getMyBlogs(Authentication authentication) {
         String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
         User user = userService.getUserByEmail(email);
-        List<Blog> blogs = blogService.getBlogsByAuthor(user.getUserId());
+        List<BlogSummary> blogs = blogService.getBlogsByAuthor(user.getUserId());
         return ResponseEntity.ok(blogs);
     }
 
@@ -118,8 +137,8 @@ public class BlogController {
      * GET /api/blogs/pending
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<Blog>> getPendingBlogs() {
-        List<Blog> blogs = blogService.getPendingBlogs();
+    public ResponseEntity<List<BlogSummary>> getPendingBlogs() {
+        List<BlogSummary> blogs = blogService.getPendingBlogs();
         return ResponseEntity.ok(blogs);
     }
 
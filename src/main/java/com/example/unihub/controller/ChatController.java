@@ -6,6 +6,7 @@ import com.example.unihub.service.UserService;
 import com.example.unihub.util.AuthenticationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +37,16 @@ public class ChatController {
         return ResponseEntity.ok(chatService.getUserConversations(userId));
     }
 
+    @GetMapping(value = "/conversations", params = "page")
+    public ResponseEntity<Page<ConversationResponse>> getConversationsPage(
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        Long userId = userService.getUserByEmail(email).getUserId();
+        return ResponseEntity.ok(chatService.getUserConversations(userId, page, size));
+    }
+
     @GetMapping("/conversations/{conversationId}/messages")
     public ResponseEntity<Page<MessageResponse>> getMessages(
             @PathVariable Long conversationId,
@@ -47,13 +58,25 @@ public class ChatController {
         return ResponseEntity.ok(chatService.getMessages(conversationId, userId, page, size));
     }
 
+    @GetMapping(value = "/conversations/{conversationId}/messages", params = "before")
+    public ResponseEntity<Slice<MessageResponse>> getMessagesBefore(
+            @PathVariable Long conversationId,
+            @RequestParam Long before,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        Long userId = userService.getUserByEmail(email).getUserId();
+        return ResponseEntity.ok(chatService.getMessagesBefore(conversationId, before, userId, size));
+    }
+
     @PostMapping("/conversations/{conversationId}/read")
     public ResponseEntity<Void> markAsRead(
             @PathVariable Long conversationId,
+            @RequestParam(required = false) Long upTo,
             Authentication authentication) {
         String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
         Long userId = userService.getUserByEmail(email).getUserId();
-        chatService.markAsRead(conversationId, userId);
+        chatService.markAsRead(conversationId, userId, upTo);
         return ResponseEntity.ok().build();
     }
 
@@ -98,6 +121,29 @@ public class ChatController {
         return ResponseEntity.ok(chatService.searchMessages(conversationId, query, userId));
     }
 
+    @GetMapping(value = "/conversations/{conversationId}/search", params = "page")
+    public ResponseEntity<Page<MessageResponse>> searchMessagesPage(
+            @PathVariable Long conversationId,
+            @RequestParam String query,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        Long userId = userService.getUserByEmail(email).getUserId();
+        return ResponseEntity.ok(chatService.searchMessages(conversationId, query, userId, page, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<MessageResponse>> searchAllMessages(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        Long userId = userService.getUserByEmail(email).getUserId();
+        return ResponseEntity.ok(chatService.searchAllMessages(query, userId, page, size));
+    }
+
     @DeleteMapping("/conversations/{conversationId}")
     public ResponseEntity<Void> deleteConversation(
             @PathVariable Long conversationId,
@@ -3,6 +3,7 @@ import com.example.unihub.util.AuthenticationUtil;
 
 import com.example.unihub.dto.request.CreateEventRequest;
 import com.example.unihub.dto.request.JoinEventRequest;
+import com.example.unihub.dto.response.EventSummary;
 import com.example.unihub.enums.EventStatus;
 import com.example.unihub.model.Event;
 import com.example.unihub.model.EventParticipant;
@@ -11,11 +12,14 @@ import com.example.unihub.service.EventService;
 import com.example.unihub.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +43,23 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Event feed, newest first, as slim rows. Pass the last eventId of a page as {@code before}
+     * to get the next one.
+     * GET /api/events/feed?universityId=1&status=APPROVED&type=Workshop&from=2025-01-01T00:00:00&to=2025-06-30T23:59:59&before=120&size=20
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<Slice<EventSummary>> getEventFeed(
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.getEventFeed(universityId, status, type, from, to, before, size));
+    }
+
     /**
      * Get event by ID
      * GET /api/events/{id}
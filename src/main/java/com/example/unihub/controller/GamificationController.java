@@ -1,18 +1,23 @@
 package com.example.unihub.controller;
 import com.example.unihub.util.AuthenticationUtil;
 
+import com.example.unihub.dto.response.EventSummary;
+import com.example.unihub.dto.response.LeaderboardEntry;
+import com.example.unihub.dto.response.PointsTrendPoint;
+import com.example.unihub.enums.LeaderboardWindow;
 import com.example.unihub.model.Badge;
-import com.example.unihub.model.Event;
 import com.example.unihub.model.User;
 import com.example.unihub.model.UserBadge;
-import com.example.unihub.repository.BadgeRepository;
+import com.example.unihub.service.BadgeLadderService;
 import com.example.unihub.service.LeaderboardService;
+import com.example.unihub.service.PointsRollupService;
 import com.example.unihub.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,30 +27,68 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GamificationController {
 
+    // Upper bounds on client-supplied sizes, so one request cannot pull the whole ranking
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RADIUS = 50;
+
     private final LeaderboardService leaderboardService;
     private final UserService userService;
-    private final BadgeRepository badgeRepository;
+    private final BadgeLadderService badgeLadderService;
+    private final PointsRollupService pointsRollupService;
 
     /**
      * Get leaderboard
-     * GET /api/gamification/leaderboard?scope=GLOBAL&type=MEMBERS&universityId=1
+     * GET /api/gamification/leaderboard?scope=GLOBAL&type=MEMBERS&universityId=1&page=0&size=50
+     * GET /api/gamification/leaderboard?scope=GLOBAL&type=MEMBERS&aroundUserId=42&radius=5
+     * GET /api/gamification/leaderboard?scope=GLOBAL&type=MEMBERS&window=WEEK (WEEK, MONTH, SEMESTER or ALL_TIME)
      */
     @GetMapping("/leaderboard")
     public ResponseEntity<Map<String, Object>> getLeaderboard(
             @RequestParam(defaultValue = "GLOBAL") String scope,
             @RequestParam(defaultValue = "MEMBERS") String type,
-            @RequestParam(required = false) Long universityId) {
+            @RequestParam(required = false) Long universityId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Long aroundUserId,
+            @RequestParam(defaultValue = "5") int radius,
+            @RequestParam(required = false) String window) {
+        page = Math.max(page, 0);
+        size = clamp(size, 1, MAX_PAGE_SIZE);
+        radius = clamp(radius, 0, MAX_RADIUS);
         
         Map<String, Object> response = new HashMap<>();
         response.put("scope", scope);
         response.put("type", type);
         
-        if ("MEMBERS".equalsIgnoreCase(type)) {
-            List<User> leaderboard = leaderboardService.getMembersLeaderboard(scope, universityId);
+        LeaderboardWindow leaderboardWindow = leaderboardService.resolveWindow(window);
+        if (leaderboardWindow != null && "MEMBERS".equalsIgnoreCase(type)) {
+            List<LeaderboardEntry> leaderboard = aroundUserId != null
+                ? leaderboardService.getWindowedMembersWindow(leaderboardWindow, scope, universityId, aroundUserId, radius)
+                : leaderboardService.getWindowedMembersLeaderboard(leaderboardWindow, scope, universityId, page, size);
+            response.put("window", leaderboardWindow);
+            response.put("rankings", leaderboard);
+            response.put("totalMembers", leaderboardService.countWindowedMembers(leaderboardWindow, scope, universityId));
+            if (aroundUserId == null) {
+                response.put("page", page);
+                response.put("size", size);
+            }
+        } else if (leaderboardWindow != null) {
+            throw new IllegalArgumentException("Leaderboard windows are only available for MEMBERS");
+        } else if ("MEMBERS".equalsIgnoreCase(type)) {
+            List<LeaderboardEntry> leaderboard = aroundUserId != null
+                ? leaderboardService.getMembersWindow(scope, universityId, aroundUserId, radius)
+                : leaderboardService.getMembersLeaderboard(scope, universityId, page, size);
             response.put("rankings", leaderboard);
+            response.put("totalMembers", leaderboardService.countMembers(scope, universityId));
+            if (aroundUserId == null) {
+                response.put("page", page);
+                response.put("size", size);
+            }
         } else if ("EVENTS".equalsIgnoreCase(type)) {
-            List<Event> leaderboard = leaderboardService.getEventsLeaderboard(scope, universityId);
+            List<EventSummary> leaderboard = leaderboardService.getEventsLeaderboard(scope, universityId, page, size);
             response.put("rankings", leaderboard);
+            response.put("page", page);
+            response.put("size", size);
         } else {
             throw new IllegalArgumentException("Invalid leaderboard type. Use MEMBERS or EVENTS");
         }
@@ -58,11 +101,11 @@ public class GamificationController {
      * GET /api/gamification/top-members?scope=GLOBAL&limit=3
      */
     @GetMapping("/top-members")
-    public ResponseEntity<List<User>> getTopMembers(
+    public ResponseEntity<List<LeaderboardEntry>> getTopMembers(
             @RequestParam(defaultValue = "GLOBAL") String scope,
             @RequestParam(required = false) Long universityId,
             @RequestParam(defaultValue = "10") int limit) {
-        List<User> topMembers = leaderboardService.getTopMembers(scope, universityId, limit);
+        List<LeaderboardEntry> topMembers = leaderboardService.getTopMembers(scope, universityId, clamp(limit, 1, MAX_PAGE_SIZE));
         return ResponseEntity.ok(topMembers);
     }
 
@@ -71,11 +114,11 @@ public class GamificationController {
      * GET /api/gamification/top-events?scope=GLOBAL&limit=3
      */
     @GetMapping("/top-events")
-    public ResponseEntity<List<Event>> getTopEvents(
+    public ResponseEntity<List<EventSummary>> getTopEvents(
             @RequestParam(defaultValue = "GLOBAL") String scope,
             @RequestParam(required = false) Long universityId,
             @RequestParam(defaultValue = "10") int limit) {
-        List<Event> topEvents = leaderboardService.getTopEvents(scope, universityId, limit);
+        List<EventSummary> topEvents = leaderboardService.getTopEvents(scope, universityId, clamp(limit, 1, MAX_PAGE_SIZE));
         return ResponseEntity.ok(topEvents);
     }
 
@@ -102,6 +145,40 @@ public class GamificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get members ranked around me
+     * GET /api/gamification/my-neighbors?scope=GLOBAL&radius=5
+     */
+    @GetMapping("/my-neighbors")
+    public ResponseEntity<List<LeaderboardEntry>> getMyNeighbors(
+            @RequestParam(defaultValue = "GLOBAL") String scope,
+            @RequestParam(defaultValue = "5") int radius,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        User user = userService.getUserByEmail(email);
+        
+        Long universityId = "UNIVERSITY".equalsIgnoreCase(scope) && user.getUniversity() != null 
+            ? user.getUniversity().getUniversityId() : null;
+        return ResponseEntity.ok(leaderboardService.getMembersWindow(scope, universityId, user.getUserId(),
+                clamp(radius, 0, MAX_RADIUS)));
+    }
+
+    /**
+     * Get my points per day over the last N days (from the daily rollups)
+     * GET /api/gamification/my-points-history?days=30
+     */
+    @GetMapping("/my-points-history")
+    public ResponseEntity<List<PointsTrendPoint>> getMyPointsHistory(
+            @RequestParam(defaultValue = "30") int days,
+            Authentication authentication) {
+        String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
+        User user = userService.getUserByEmail(email);
+        
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(Math.max(1, days) - 1);
+        return ResponseEntity.ok(pointsRollupService.getUserPointsTrend(user.getUserId(), from, to));
+    }
+
     /**
      * Get user rank by ID
      * GET /api/gamification/rank/{userId}?scope=GLOBAL
@@ -129,7 +206,7 @@ public class GamificationController {
      */
     @GetMapping("/badges")
     public ResponseEntity<List<Badge>> getAllBadges() {
-        List<Badge> badges = badgeRepository.findAllByOrderByPointsThresholdAsc();
+        List<Badge> badges = badgeLadderService.getAllBadges();
         return ResponseEntity.ok(badges);
     }
 
@@ -142,7 +219,7 @@ public class GamificationController {
         String email = AuthenticationUtil.getEmailFromAuthentication(authentication);
         User user = userService.getUserByEmail(email);
         
-        List<Badge> allBadges = badgeRepository.findAllByOrderByPointsThresholdAsc();
+        List<Badge> allBadges = badgeLadderService.getAllBadges();
         List<UserBadge> earnedBadges = userService.getUserBadges(user.getUserId());
         
         Map<String, Object> response = new HashMap<>();
@@ -153,4 +230,8 @@ public class GamificationController {
         
         return ResponseEntity.ok(response);
     }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
 }
@@ -30,5 +30,6 @@ public class ConversationResponse {
         private String email;
         private Boolean isAdmin;
         private LocalDateTime lastReadAt;
+        private Long lastReadMessageId;
     }
 }
@@ -0,0 +1,29 @@
+package com.example.unihub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Typing changes for one conversation since the last frame. Clients merge them into their
+ * own typer set and drop a typer once ttlMs passes without a new "typing" entry for them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingStatusMessage {
+    private Long conversationId;
+    private List<Typer> changes;
+    private long ttlMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Typer {
+        private Long userId;
+        private String userName;
+        private boolean typing;
+    }
+}
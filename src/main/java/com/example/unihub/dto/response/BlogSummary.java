@@ -0,0 +1,40 @@
+package com.example.unihub.dto.response;
+
+import com.example.unihub.enums.BlogStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Blog list row: everything the feeds show, with a short excerpt instead of the full
+ * content (which only GET /api/blogs/{id} returns)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogSummary {
+    private Long blogId;
+    private String title;
+    private String excerpt;
+    private String category;
+    private BlogStatus status;
+    private Boolean isGlobal;
+    private Long universityId;
+    private String universityName;
+    private Long authorId;
+    private String authorName;
+    private String authorEmail;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long reportCount;
+
+    // Used by the criteria projection in BlogRepositoryCustomImpl; reportCount is filled in by BlogService
+    public BlogSummary(Long blogId, String title, String excerpt, String category, BlogStatus status, Boolean isGlobal,
+                       Long universityId, String universityName, Long authorId, String authorName, String authorEmail,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(blogId, title, excerpt, category, status, isGlobal, universityId, universityName,
+                authorId, authorName, authorEmail, createdAt, updatedAt, null);
+    }
+}
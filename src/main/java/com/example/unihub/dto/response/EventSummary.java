@@ -0,0 +1,31 @@
+package com.example.unihub.dto.response;
+
+import com.example.unihub.enums.EventStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event feed row: the listing fields only, without description, point settings or
+ * nested creator/university entities
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+    private Long eventId;
+    private String title;
+    private String location;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String type;
+    private EventStatus status;
+    private Integer participantCount;
+    private Long universityId;
+    private String universityName;
+    private Long creatorId;
+    private String creatorName;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.example.unihub.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private Integer rank;
+    private Long userId;
+    private String name;
+    private Integer points;
+    private Long universityId;
+    private String universityName;
+    private String badgeName;
+
+    // Used by JPQL constructor expressions; rank is filled in by LeaderboardService
+    public LeaderboardEntry(Long userId, String name, Integer points, Long universityId,
+                            String universityName, String badgeName) {
+        this(null, userId, name, points, universityId, universityName, badgeName);
+    }
+}
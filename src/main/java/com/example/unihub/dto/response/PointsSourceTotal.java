@@ -0,0 +1,14 @@
+package com.example.unihub.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsSourceTotal {
+    private String sourceType;
+    private Long points;
+    private Long entries;
+}
@@ -0,0 +1,16 @@
+package com.example.unihub.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsTrendPoint {
+    private LocalDate date;
+    private Long points;
+    private Long entries;
+}
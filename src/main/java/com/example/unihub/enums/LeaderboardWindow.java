@@ -0,0 +1,20 @@
+package com.example.unihub.enums;
+
+/**
+ * Rolling windows for the time-based leaderboards, in days ending today
+ */
+public enum LeaderboardWindow {
+    WEEK(7),
+    MONTH(30),
+    SEMESTER(120);
+
+    private final int days;
+
+    LeaderboardWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
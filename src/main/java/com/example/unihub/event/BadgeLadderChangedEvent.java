@@ -0,0 +1,8 @@
+package com.example.unihub.event;
+
+/**
+ * Published by BadgeLadderService when a reload changes badge thresholds, so stored
+ * badges can be recalculated against the new ladder.
+ */
+public record BadgeLadderChangedEvent() {
+}
@@ -0,0 +1,27 @@
+package com.example.unihub.event;
+
+import com.example.unihub.service.BadgeRecalculationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeLadderChangedListener {
+
+    private final BadgeRecalculationService badgeRecalculationService;
+
+    @EventListener
+    public void onBadgeLadderChanged(BadgeLadderChangedEvent event) {
+        log.info("Badge thresholds changed, recalculating all user badges");
+        try {
+            badgeRecalculationService.recalculateAll();
+        } catch (TaskRejectedException e) {
+            // The run already waiting reads the new thresholds when it starts
+            log.info("Badge recalculation already queued, not starting another");
+        }
+    }
+}
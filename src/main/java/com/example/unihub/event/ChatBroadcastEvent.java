@@ -0,0 +1,8 @@
+package com.example.unihub.event;
+
+/**
+ * A WebSocket broadcast produced inside a chat transaction. It is only sent once the
+ * transaction commits, so subscribers never see changes that were rolled back.
+ */
+public record ChatBroadcastEvent(String destination, Object payload) {
+}
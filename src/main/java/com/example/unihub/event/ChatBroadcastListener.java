@@ -0,0 +1,20 @@
+package com.example.unihub.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class ChatBroadcastListener {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatBroadcast(ChatBroadcastEvent event) {
+        // Payload is converted once here and the broker fans the same frame out to all subscribers
+        messagingTemplate.convertAndSend(event.destination(), event.payload());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.unihub.event;
+
+/**
+ * Published when a points change is written to the pending_points_changes outbox. Once
+ * the action's transaction commits it wakes the gamification worker; the change itself
+ * is read from the outbox, so nothing is lost if this event never arrives.
+ */
+public record PointsChangeEvent(Long userId) {
+}
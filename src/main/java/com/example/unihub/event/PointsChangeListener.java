@@ -0,0 +1,20 @@
+package com.example.unihub.event;
+
+import com.example.unihub.service.GamificationPipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class PointsChangeListener {
+
+    private final GamificationPipeline gamificationPipeline;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPointsChange(PointsChangeEvent event) {
+        // The outbox row is committed now; let the worker pick it up without waiting for its next poll
+        gamificationPipeline.wakeUp();
+    }
+}
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+       @Index(name = "idx_blogs_status_university_created", columnList = "status, university_id, created_at DESC"),
+       @Index(name = "idx_blogs_status_global_created", columnList = "status, is_global, created_at DESC"),
+       @Index(name = "idx_blogs_status_category_created", columnList = "status, category, created_at DESC"),
+       @Index(name = "idx_blogs_author_created", columnList = "author_id, created_at DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,14 +28,14 @@ public class Blog {
     @Column(name = "blog_id")
     private Long blogId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id")
-    @JsonIgnoreProperties({"users", "events", "blogs"})
+    @JsonIgnoreProperties({"users", "events", "blogs", "hibernateLazyInitializer", "handler"})
     private University university; // Nullable for global blogs
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
-    @JsonIgnoreProperties({"createdEvents", "blogs", "eventParticipants", "earnedBadges", "pointsLogs", "notifications", "passwordHash", "university"})
+    @JsonIgnoreProperties({"createdEvents", "blogs", "eventParticipants", "earnedBadges", "pointsLogs", "notifications", "passwordHash", "hibernateLazyInitializer", "handler"})
     private User author;
 
     @Column(nullable = false)
@@ -33,12 +33,20 @@ public class ConversationParticipant {
     @Column(name = "last_read_at")
     private LocalDateTime lastReadAt;
 
+    // Read watermark: every message up to and including this id has been read
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId;
+
     @Column(name = "is_admin")
     private Boolean isAdmin = false;
 
     @Column(name = "is_hidden")
     private Boolean isHidden = false;
 
+    // Messages from other participants since lastReadAt; maintained by ChatService
+    @Column(name = "unread_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long unreadCount = 0L;
+
     @PrePersist
     protected void onCreate() {
         joinedAt = LocalDateTime.now();
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+       @Index(name = "idx_events_status_university_popularity", columnList = "status, university_id, participant_count DESC"),
+       @Index(name = "idx_events_status_popularity", columnList = "status, participant_count DESC"),
+       @Index(name = "idx_events_university_feed", columnList = "university_id, created_at DESC, event_id DESC"),
+       @Index(name = "idx_events_feed", columnList = "created_at DESC, event_id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,9 +28,9 @@ public class Event {
     @Column(name = "event_id")
     private Long eventId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id")
-    @JsonIgnoreProperties({"users", "events", "blogs"})
+    @JsonIgnoreProperties({"users", "events", "blogs", "hibernateLazyInitializer", "handler"})
     private University university;
 
     @Column(nullable = false)
@@ -66,9 +71,13 @@ public class Event {
     @Column(name = "attendee_points")
     private Integer attendeePoints = 10;
 
-    @ManyToOne
+    // Maintained with atomic updates in EventRepository, never written from a (possibly stale) entity
+    @Column(name = "participant_count", nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private Integer participantCount = 0;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
-    @JsonIgnoreProperties({"createdEvents", "blogs", "eventParticipants", "earnedBadges", "pointsLogs", "notifications", "passwordHash", "university"})
+    @JsonIgnoreProperties({"createdEvents", "blogs", "eventParticipants", "earnedBadges", "pointsLogs", "notifications", "passwordHash", "university", "hibernateLazyInitializer", "handler"})
     private User creator;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -0,0 +1,53 @@
+package com.example.unihub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a points award (positive) or deduction (negative), written in the same
+ * transaction as the action that earned it and deleted by the gamification worker in the
+ * transaction that applies it. Rows the worker gave up on are kept with failed = true.
+ */
+@Entity
+@Table(name = "pending_points_changes", indexes = {
+    @Index(name = "idx_pending_points_changes_failed", columnList = "failed, pending_points_change_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPointsChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "pending_points_change_id")
+    private Long pendingPointsChangeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(name = "source_type", nullable = false)
+    private String sourceType;
+
+    @Column(name = "source_id")
+    private Long sourceId;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    // Time of the originating action, used as the ledger entry's created_at
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private Boolean failed = false;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,43 @@
+package com.example.unihub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Net points and ledger entries per source type per university per day, rebuilt from
+ * points_log by PointsRollupService
+ */
+@Entity
+@Table(name = "points_daily_source", indexes = {
+    @Index(name = "idx_points_daily_source_university_date", columnList = "university_id, rollup_date"),
+    @Index(name = "idx_points_daily_source_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsDailySourceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "university_id")
+    private Long universityId;
+
+    @Column(name = "source_type", nullable = false)
+    private String sourceType;
+
+    @Column(nullable = false)
+    private Long points;
+
+    @Column(nullable = false)
+    private Long entries;
+}
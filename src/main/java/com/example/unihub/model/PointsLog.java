@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "points_log")
+@Table(name = "points_log", indexes = {
+    @Index(name = "idx_points_log_created_at", columnList = "created_at"),
+    @Index(name = "idx_points_log_user_created", columnList = "user_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +45,9 @@ public class PointsLog {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Queued changes carry the time of the originating action
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
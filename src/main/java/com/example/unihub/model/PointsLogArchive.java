@@ -0,0 +1,46 @@
+package com.example.unihub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raw ledger rows moved out of points_log once they pass the retention window (see
+ * PointsLogRepository.archiveBefore, which copies these columns by name). Mapped as an
+ * entity so the schema is managed with points_log; the user id is kept without a
+ * foreign key so archived rows never block deleting a user.
+ */
+@Entity
+@Table(name = "points_log_archive", indexes = {
+    @Index(name = "idx_points_log_archive_user_created", columnList = "user_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsLogArchive {
+
+    @Id
+    @Column(name = "points_log_id")
+    private Long pointsLogId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "source_type", nullable = false)
+    private String sourceType;
+
+    @Column(name = "source_id")
+    private Long sourceId;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
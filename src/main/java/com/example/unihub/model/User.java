@@ -23,9 +23,9 @@ public class User {
     @Column(name = "user_id")
     private Long userId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id")
-    @JsonIgnoreProperties({"users"})
+    @JsonIgnoreProperties({"users", "hibernateLazyInitializer", "handler"})
     private University university;
 
     @Column(nullable = false)
@@ -45,12 +45,14 @@ public class User {
     @Column(nullable = false)
     private UserRole role;
 
-    @Column(nullable = false)
+    // Changed only through the atomic updates in UserRepository, never written from a (possibly stale) entity
+    @Column(nullable = false, updatable = false)
     private Integer points = 0;
 
-    @ManyToOne
-    @JoinColumn(name = "current_badge_id")
-    @JsonIgnoreProperties({"users"})
+    // Changed only through UserRepository.setCurrentBadge (or the bulk recalculation), like points
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_badge_id", updatable = false)
+    @JsonIgnoreProperties({"users", "hibernateLazyInitializer", "handler"})
     private Badge currentBadge;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -2,9 +2,14 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.BlogReport;
 import com.example.unihub.enums.ReportStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,8 +21,14 @@ public interface BlogReportRepository extends JpaRepository<BlogReport, Long> {
     // Filter by status
     List<BlogReport> findByStatus(ReportStatus status);
     
+    // Report lists map the blog, its author and the reporter
+    @EntityGraph(attributePaths = {"blog", "blog.author", "reportedBy"})
     List<BlogReport> findByStatusOrderByCreatedAtDesc(ReportStatus status);
     
+    @EntityGraph(attributePaths = {"blog", "blog.author", "reportedBy"})
+    @Override
+    List<BlogReport> findAll(Sort sort);
+    
     // Get reports by reporter
     List<BlogReport> findByReportedByUserId(Long userId);
     
@@ -26,6 +37,10 @@ public interface BlogReportRepository extends JpaRepository<BlogReport, Long> {
     
     long countByBlogBlogId(Long blogId);
     
+    // (blogId, report count) for a page of blogs in one query; blogs without reports are absent
+    @Query("SELECT r.blog.blogId, COUNT(r) FROM BlogReport r WHERE r.blog.blogId IN :blogIds GROUP BY r.blog.blogId")
+    List<Object[]> countByBlogIds(@Param("blogIds") Collection<Long> blogIds);
+    
     // Check if user already reported a blog
     boolean existsByBlogBlogIdAndReportedByUserId(Long blogId, Long userId);
 }
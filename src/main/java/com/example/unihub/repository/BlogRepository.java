@@ -2,14 +2,22 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.Blog;
 import com.example.unihub.enums.BlogStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BlogRepository extends JpaRepository<Blog, Long> {
+public interface BlogRepository extends JpaRepository<Blog, Long>, JpaSpecificationExecutor<Blog>, BlogRepositoryCustom {
+    
+    // Blog detail serializes the author (with their university and badge) and the university
+    @EntityGraph(attributePaths = {"university", "author", "author.university", "author.currentBadge"})
+    @Override
+    Optional<Blog> findById(Long blogId);
     
     // Filter by university and status
     List<Blog> findByUniversityUniversityIdAndStatus(Long universityId, BlogStatus status);
@@ -18,9 +26,13 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     
     List<Blog> findByStatus(BlogStatus status);
     
+    List<Blog> findByStatusOrderByCreatedAtDesc(BlogStatus status);
+    
     // Filter by author
     List<Blog> findByAuthorUserId(Long authorId);
     
+    List<Blog> findByAuthorUserIdOrderByCreatedAtDesc(Long authorId);
+    
     // Filter by category
     List<Blog> findByCategory(String category);
     
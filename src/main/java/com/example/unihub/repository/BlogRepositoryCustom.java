@@ -0,0 +1,18 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.dto.response.BlogSummary;
+import com.example.unihub.model.Blog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BlogRepositoryCustom {
+
+    // Summary rows (no content column) matching the filters, in the given order
+    List<BlogSummary> findSummaries(Specification<Blog> spec, Sort sort);
+
+    Page<BlogSummary> findSummaries(Specification<Blog> spec, Pageable pageable);
+}
@@ -0,0 +1,102 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.dto.response.BlogSummary;
+import com.example.unihub.model.Blog;
+import com.example.unihub.model.University;
+import com.example.unihub.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Builds the blog list projection with the Criteria API so the same {@link Specification}
+ * filters used for entities apply. Only the first characters of content are selected for
+ * the excerpt; the full TEXT column is never read for lists.
+ */
+public class BlogRepositoryCustomImpl implements BlogRepositoryCustom {
+
+    static final int EXCERPT_LENGTH = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BlogSummary> findSummaries(Specification<Blog> spec, Sort sort) {
+        return toExcerpts(summaryQuery(spec, sort).getResultList());
+    }
+
+    @Override
+    public Page<BlogSummary> findSummaries(Specification<Blog> spec, Pageable pageable) {
+        TypedQuery<BlogSummary> query = summaryQuery(spec, pageable.getSort());
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<BlogSummary> content = toExcerpts(query.getResultList());
+        return new PageImpl<>(content, pageable, count(spec));
+    }
+
+    private TypedQuery<BlogSummary> summaryQuery(Specification<Blog> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BlogSummary> query = cb.createQuery(BlogSummary.class);
+        Root<Blog> blog = query.from(Blog.class);
+        Join<Blog, University> university = blog.join("university", JoinType.LEFT);
+        Join<Blog, User> author = blog.join("author", JoinType.LEFT);
+
+        // One extra character tells toExcerpts whether the content was cut
+        query.select(cb.construct(BlogSummary.class,
+                blog.get("blogId"), blog.get("title"), cb.substring(blog.<String>get("content"), 1, EXCERPT_LENGTH + 1),
+                blog.get("category"), blog.get("status"), blog.get("isGlobal"),
+                university.get("universityId"), university.get("name"),
+                author.get("userId"), author.get("name"), author.get("email"),
+                blog.get("createdAt"), blog.get("updatedAt")));
+        applySpec(spec, blog, query, cb);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, blog, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Blog> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Blog> blog = query.from(Blog.class);
+        query.select(cb.count(blog));
+        applySpec(spec, blog, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpec(Specification<Blog> spec, Root<Blog> blog, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec != null ? spec.toPredicate(blog, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private List<BlogSummary> toExcerpts(List<BlogSummary> summaries) {
+        for (BlogSummary summary : summaries) {
+            summary.setExcerpt(excerpt(summary.getExcerpt()));
+        }
+        return summaries;
+    }
+
+    /**
+     * The text as-is if it fits, otherwise cut at the last word boundary that fits (or hard
+     * cut when that would drop more than half) and marked with "..."
+     */
+    static String excerpt(String text) {
+        if (text == null || text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        String cut = text.substring(0, EXCERPT_LENGTH);
+        int space = cut.lastIndexOf(' ');
+        return (space > EXCERPT_LENGTH / 2 ? cut.substring(0, space) : cut).stripTrailing() + "...";
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.enums.BlogStatus;
+import com.example.unihub.model.Blog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composable blog feed filters for {@link BlogRepository}. Null arguments mean "no filter".
+ */
+public final class BlogSpecifications {
+
+    private BlogSpecifications() {
+    }
+
+    /**
+     * All given filters combined. Approved feeds for a university also include global blogs.
+     */
+    public static Specification<Blog> feed(Long universityId, String category, BlogStatus status, Boolean isGlobal,
+                                           String search) {
+        List<Specification<Blog>> filters = new ArrayList<>();
+        if (universityId != null) {
+            filters.add(status == BlogStatus.APPROVED ? inUniversityOrGlobal(universityId) : inUniversity(universityId));
+        }
+        if (category != null) {
+            filters.add(hasCategory(category));
+        }
+        if (status != null) {
+            filters.add(hasStatus(status));
+        }
+        if (isGlobal != null) {
+            filters.add(isGlobal(isGlobal));
+        }
+        if (search != null && !search.isBlank()) {
+            filters.add(matchesText(search.trim()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    public static Specification<Blog> hasStatus(BlogStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Blog> byAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("author").get("userId"), authorId);
+    }
+
+    public static Specification<Blog> hasCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Blog> isGlobal(boolean isGlobal) {
+        return (root, query, cb) -> cb.equal(root.get("isGlobal"), isGlobal);
+    }
+
+    /**
+     * Case-insensitive substring match on the title or the full content. lower(...) LIKE is
+     * the form the trigram indexes from BlogSearchIndexInitializer cover, so keep it in sync.
+     */
+    public static Specification<Blog> matchesText(String search) {
+        String pattern = "%" + search.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("content")), pattern, '\\'));
+    }
+
+    public static Specification<Blog> inUniversity(Long universityId) {
+        return (root, query, cb) -> cb.equal(root.get("university").get("universityId"), universityId);
+    }
+
+    public static Specification<Blog> inUniversityOrGlobal(Long universityId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("university").get("universityId"), universityId),
+                cb.isTrue(root.get("isGlobal")));
+    }
+}
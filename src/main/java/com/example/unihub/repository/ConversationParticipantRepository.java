@@ -2,10 +2,12 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.ConversationParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +16,40 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
 
     List<ConversationParticipant> findByConversationConversationId(Long conversationId);
 
+    @Query("SELECT cp FROM ConversationParticipant cp JOIN FETCH cp.user WHERE cp.conversation.conversationId IN :conversationIds")
+    List<ConversationParticipant> findByConversationIds(@Param("conversationIds") Collection<Long> conversationIds);
+
     Optional<ConversationParticipant> findByConversationConversationIdAndUserUserId(Long conversationId, Long userId);
 
     @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.conversationId = :conversationId " +
            "AND m.createdAt > COALESCE((SELECT cp.lastReadAt FROM ConversationParticipant cp " +
            "WHERE cp.conversation.conversationId = :conversationId AND cp.user.userId = :userId), m.conversation.createdAt)")
     Long countUnreadMessages(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE ConversationParticipant cp SET cp.unreadCount = cp.unreadCount + 1 " +
+           "WHERE cp.conversation.conversationId = :conversationId AND cp.user.userId <> :senderId")
+    int incrementUnreadCount(@Param("conversationId") Long conversationId, @Param("senderId") Long senderId);
+
+    @Modifying
+    @Query("UPDATE ConversationParticipant cp SET cp.isHidden = true " +
+           "WHERE cp.conversation.conversationId = :conversationId AND cp.user.userId = :userId")
+    int hideForUser(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    /**
+     * Recompute every unread counter from the messages table. Returns the number of
+     * participants whose counter had drifted.
+     */
+    @Modifying
+    @Query(value = "UPDATE conversation_participants cp SET unread_count = actual.unread FROM (" +
+                   "SELECT p.participant_id, COUNT(m.message_id) AS unread FROM conversation_participants p " +
+                   "JOIN conversations c ON c.conversation_id = p.conversation_id " +
+                   "LEFT JOIN messages m ON m.conversation_id = p.conversation_id " +
+                   "AND m.sender_id <> p.user_id AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                   "AND CASE WHEN p.last_read_message_id IS NOT NULL THEN m.message_id > p.last_read_message_id " +
+                   "ELSE m.created_at > COALESCE(p.last_read_at, c.created_at) END " +
+                   "GROUP BY p.participant_id) actual " +
+                   "WHERE cp.participant_id = actual.participant_id AND cp.unread_count IS DISTINCT FROM actual.unread",
+           nativeQuery = true)
+    int reconcileUnreadCounts();
 }
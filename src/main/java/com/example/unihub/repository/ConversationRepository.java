@@ -1,6 +1,8 @@
 package com.example.unihub.repository;
 
 import com.example.unihub.model.Conversation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,12 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
     @Query("SELECT DISTINCT c FROM Conversation c JOIN ConversationParticipant p ON p.conversation.conversationId = c.conversationId WHERE p.user.userId = :userId AND (p.isHidden = false OR p.isHidden IS NULL) ORDER BY c.updatedAt DESC")
     List<Conversation> findByUserId(@Param("userId") Long userId);
 
+    @Query(value = "SELECT c FROM Conversation c JOIN ConversationParticipant p ON p.conversation.conversationId = c.conversationId " +
+                   "WHERE p.user.userId = :userId AND (p.isHidden = false OR p.isHidden IS NULL) ORDER BY c.updatedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM ConversationParticipant p " +
+                        "WHERE p.user.userId = :userId AND (p.isHidden = false OR p.isHidden IS NULL)")
+    Page<Conversation> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Query("SELECT c FROM Conversation c WHERE c.conversationId IN " +
            "(SELECT p1.conversation.conversationId FROM ConversationParticipant p1 WHERE p1.user.userId = :userId1) " +
            "AND c.conversationId IN " +
@@ -2,6 +2,7 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.EventParticipant;
 import com.example.unihub.enums.ParticipantRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,9 +18,11 @@ public interface EventParticipantRepository extends JpaRepository<EventParticipa
     Optional<EventParticipant> findByEventEventIdAndUserUserId(Long eventId, Long userId);
     
     // Get all participants for an event
+    @EntityGraph(attributePaths = {"event", "user", "user.currentBadge"})
     List<EventParticipant> findByEventEventId(Long eventId);
     
     // Get all events a user participated in
+    @EntityGraph(attributePaths = {"event", "user", "user.currentBadge"})
     List<EventParticipant> findByUserUserId(Long userId);
     
     // Filter by role
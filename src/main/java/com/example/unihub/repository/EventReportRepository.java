@@ -2,9 +2,14 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.EventReport;
 import com.example.unihub.enums.ReportStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,8 +21,14 @@ public interface EventReportRepository extends JpaRepository<EventReport, Long>
     // Filter by status
     List<EventReport> findByStatus(ReportStatus status);
     
+    // Report lists map the event, its creator and the reporter
+    @EntityGraph(attributePaths = {"event", "event.creator", "reportedBy"})
     List<EventReport> findByStatusOrderByCreatedAtDesc(ReportStatus status);
     
+    @EntityGraph(attributePaths = {"event", "event.creator", "reportedBy"})
+    @Override
+    List<EventReport> findAll(Sort sort);
+    
     // Get reports by reporter
     List<EventReport> findByReportedByUserId(Long userId);
     
@@ -26,6 +37,10 @@ public interface EventReportRepository extends JpaRepository<EventReport, Long>
     
     long countByEventEventId(Long eventId);
     
+    // (eventId, report count) for a page of events in one query; events without reports are absent
+    @Query("SELECT r.event.eventId, COUNT(r) FROM EventReport r WHERE r.event.eventId IN :eventIds GROUP BY r.event.eventId")
+    List<Object[]> countByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
     // Check if user already reported an event
     boolean existsByEventEventIdAndReportedByUserId(Long eventId, Long userId);
 }
@@ -1,28 +1,44 @@
 package com.example.unihub.repository;
 
+import com.example.unihub.dto.response.EventSummary;
 import com.example.unihub.model.Event;
 import com.example.unihub.enums.EventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    // Detail and list reads serialize the university and creator, so fetch them in the same query
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
+    @Override
+    Optional<Event> findById(Long eventId);
+    
     // Filter by university and status (newest first)
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
     List<Event> findByUniversityUniversityIdAndStatusOrderByCreatedAtDesc(Long universityId, EventStatus status);
     
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
     List<Event> findByUniversityUniversityIdOrderByCreatedAtDesc(Long universityId);
     
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
     List<Event> findByStatusOrderByCreatedAtDesc(EventStatus status);
     
     // Filter by creator (newest first)
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
     List<Event> findByCreatorUserIdOrderByCreatedAtDesc(Long creatorId);
 
+    @EntityGraph(attributePaths = {"university", "creator", "creator.currentBadge"})
     List<Event> findAllByOrderByCreatedAtDesc();
     
     // Events by date range
@@ -30,16 +46,73 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByStartDateBetween(LocalDateTime start, LocalDateTime end);
     
-    // Top events by participants count (for leaderboard)
-    @Query("SELECT e FROM Event e LEFT JOIN e.participants p " +
-           "WHERE e.status = 'APPROVED' " +
-           "GROUP BY e.eventId ORDER BY COUNT(p) DESC")
-    List<Event> findTopEventsByParticipantsCount();
+    // Event feed (newest first) as slim rows; null filters are ignored
+    @Query("SELECT new com.example.unihub.dto.response.EventSummary(e.eventId, e.title, e.location, e.startDate, e.endDate, " +
+           "e.type, e.status, e.participantCount, u.universityId, u.name, c.userId, c.name, e.createdAt) " +
+           "FROM Event e LEFT JOIN e.university u LEFT JOIN e.creator c " +
+           "WHERE (:universityId IS NULL OR u.universityId = :universityId) " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:type IS NULL OR e.type = :type) " +
+           "AND (:from IS NULL OR e.startDate >= :from) " +
+           "AND (:to IS NULL OR e.startDate <= :to) " +
+           "ORDER BY e.createdAt DESC, e.eventId DESC")
+    Slice<EventSummary> findFeed(@Param("universityId") Long universityId,
+                                 @Param("status") EventStatus status,
+                                 @Param("type") String type,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Pageable pageable);
+    
+    // Next feed page after the (createdAt, eventId) of the last event already shown
+    @Query("SELECT new com.example.unihub.dto.response.EventSummary(e.eventId, e.title, e.location, e.startDate, e.endDate, " +
+           "e.type, e.status, e.participantCount, u.universityId, u.name, c.userId, c.name, e.createdAt) " +
+           "FROM Event e LEFT JOIN e.university u LEFT JOIN e.creator c " +
+           "WHERE (:universityId IS NULL OR u.universityId = :universityId) " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:type IS NULL OR e.type = :type) " +
+           "AND (:from IS NULL OR e.startDate >= :from) " +
+           "AND (:to IS NULL OR e.startDate <= :to) " +
+           "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.eventId < :eventId)) " +
+           "ORDER BY e.createdAt DESC, e.eventId DESC")
+    Slice<EventSummary> findFeedBefore(@Param("universityId") Long universityId,
+                                       @Param("status") EventStatus status,
+                                       @Param("type") String type,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("eventId") Long eventId,
+                                       Pageable pageable);
+    
+    // Position of a feed cursor, without loading the event
+    @Query("SELECT e.createdAt FROM Event e WHERE e.eventId = :eventId")
+    Optional<LocalDateTime> findCreatedAtById(@Param("eventId") Long eventId);
+    
+    // Top events by participants count (for leaderboard) as slim rows, read from the maintained participant_count
+    @Query("SELECT new com.example.unihub.dto.response.EventSummary(e.eventId, e.title, e.location, e.startDate, e.endDate, " +
+           "e.type, e.status, e.participantCount, u.universityId, u.name, c.userId, c.name, e.createdAt) " +
+           "FROM Event e LEFT JOIN e.university u LEFT JOIN e.creator c WHERE e.status = 'APPROVED' " +
+           "ORDER BY e.participantCount DESC, e.eventId ASC")
+    List<EventSummary> findTopEventSummaries(Pageable pageable);
+    
+    @Query("SELECT new com.example.unihub.dto.response.EventSummary(e.eventId, e.title, e.location, e.startDate, e.endDate, " +
+           "e.type, e.status, e.participantCount, u.universityId, u.name, c.userId, c.name, e.createdAt) " +
+           "FROM Event e JOIN e.university u LEFT JOIN e.creator c WHERE e.status = 'APPROVED' AND u.universityId = :universityId " +
+           "ORDER BY e.participantCount DESC, e.eventId ASC")
+    List<EventSummary> findTopEventSummariesForUniversity(@Param("universityId") Long universityId, Pageable pageable);
+    
+    @Modifying
+    @Query(value = "UPDATE events SET participant_count = GREATEST(participant_count + :delta, 0) WHERE event_id = :eventId",
+           nativeQuery = true)
+    int adjustParticipantCount(@Param("eventId") Long eventId, @Param("delta") int delta);
     
-    @Query("SELECT e FROM Event e LEFT JOIN e.participants p " +
-           "WHERE e.status = 'APPROVED' AND e.university.universityId = :universityId " +
-           "GROUP BY e.eventId ORDER BY COUNT(p) DESC")
-    List<Event> findTopEventsByParticipantsCountForUniversity(@Param("universityId") Long universityId);
+    // Recompute participant_count from event_participants; returns the number of corrected events
+    @Modifying
+    @Query(value = "UPDATE events e SET participant_count = actual.cnt FROM (" +
+                   "SELECT ev.event_id, COUNT(p.participant_id) AS cnt FROM events ev " +
+                   "LEFT JOIN event_participants p ON p.event_id = ev.event_id GROUP BY ev.event_id) actual " +
+                   "WHERE e.event_id = actual.event_id AND e.participant_count IS DISTINCT FROM actual.cnt",
+           nativeQuery = true)
+    int reconcileParticipantCounts();
     
     // Count events
     long countByStatus(EventStatus status);
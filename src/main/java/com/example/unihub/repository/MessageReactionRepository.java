@@ -2,8 +2,11 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.MessageReaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +15,8 @@ public interface MessageReactionRepository extends JpaRepository<MessageReaction
 
     List<MessageReaction> findByMessageMessageId(Long messageId);
 
+    @Query("SELECT r FROM MessageReaction r JOIN FETCH r.user WHERE r.message.messageId IN :messageIds")
+    List<MessageReaction> findByMessageIds(@Param("messageIds") Collection<Long> messageIds);
+
     Optional<MessageReaction> findByMessageMessageIdAndUserUserIdAndEmoji(Long messageId, Long userId, String emoji);
 }
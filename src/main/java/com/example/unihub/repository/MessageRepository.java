@@ -3,11 +3,14 @@ package com.example.unihub.repository;
 import com.example.unihub.model.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,8 +18,81 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
     Page<Message> findByConversationConversationIdAndIsDeletedFalseOrderByCreatedAtDesc(Long conversationId, Pageable pageable);
 
-    @Query("SELECT m FROM Message m WHERE m.conversation.conversationId = :conversationId " +
-           "AND m.isDeleted = false AND LOWER(m.content) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "ORDER BY m.createdAt DESC")
+    @Query(value = "SELECT m FROM Message m JOIN FETCH m.sender " +
+                   "LEFT JOIN FETCH m.replyToMessage r LEFT JOIN FETCH r.sender " +
+                   "WHERE m.conversation.conversationId = :conversationId AND m.isDeleted = false " +
+                   "ORDER BY m.createdAt DESC, m.messageId DESC",
+           countQuery = "SELECT COUNT(m) FROM Message m WHERE m.conversation.conversationId = :conversationId " +
+                        "AND m.isDeleted = false")
+    Page<Message> findPageWithSendersAndReplies(@Param("conversationId") Long conversationId, Pageable pageable);
+
+    /**
+     * Keyset page of messages older than the (createdAt, messageId) cursor. Returned as a
+     * Slice so no count query is issued.
+     */
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender " +
+           "LEFT JOIN FETCH m.replyToMessage r LEFT JOIN FETCH r.sender " +
+           "WHERE m.conversation.conversationId = :conversationId AND m.isDeleted = false " +
+           "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.messageId < :messageId)) " +
+           "ORDER BY m.createdAt DESC, m.messageId DESC")
+    Slice<Message> findBefore(@Param("conversationId") Long conversationId,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("messageId") Long messageId,
+                              Pageable pageable);
+
+    boolean existsByMessageIdAndConversationConversationId(Long messageId, Long conversationId);
+
+    @Query("SELECT MAX(m.messageId) FROM Message m WHERE m.conversation.conversationId = :conversationId")
+    Long findLatestMessageId(@Param("conversationId") Long conversationId);
+
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.conversationId = :conversationId " +
+           "AND m.messageId > :afterMessageId AND m.sender.userId <> :userId AND m.isDeleted = false")
+    long countUnreadAfter(@Param("conversationId") Long conversationId,
+                          @Param("userId") Long userId,
+                          @Param("afterMessageId") Long afterMessageId);
+
+    /**
+     * Latest non-deleted message of each given conversation. Messages sharing the
+     * same latest timestamp are all returned; callers keep the highest id.
+     */
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender " +
+           "WHERE m.conversation.conversationId IN :conversationIds AND m.isDeleted = false " +
+           "AND m.createdAt = (SELECT MAX(m2.createdAt) FROM Message m2 " +
+           "WHERE m2.conversation.conversationId = m.conversation.conversationId AND m2.isDeleted = false)")
+    List<Message> findLastMessages(@Param("conversationIds") Collection<Long> conversationIds);
+
+    // Full-text search over the search_vector column created by MessageSearchIndexInitializer,
+    // ranked by relevance and then recency. :query is a to_tsquery expression built by ChatService
+    // (every term a prefix match)
+    @Query(value = "SELECT m.* FROM messages m WHERE m.conversation_id = :conversationId " +
+                   "AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                   "AND m.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :query)) DESC, m.created_at DESC",
+           nativeQuery = true)
     List<Message> searchMessages(@Param("conversationId") Long conversationId, @Param("query") String query);
+
+    @Query(value = "SELECT m.* FROM messages m WHERE m.conversation_id = :conversationId " +
+                   "AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                   "AND m.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :query)) DESC, m.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM messages m WHERE m.conversation_id = :conversationId " +
+                        "AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                        "AND m.search_vector @@ to_tsquery('simple', :query)",
+           nativeQuery = true)
+    Page<Message> searchMessages(@Param("conversationId") Long conversationId, @Param("query") String query, Pageable pageable);
+
+    // Search across every conversation the user takes part in and has not hidden
+    @Query(value = "SELECT m.* FROM messages m " +
+                   "JOIN conversation_participants p ON p.conversation_id = m.conversation_id " +
+                   "WHERE p.user_id = :userId AND (p.is_hidden = false OR p.is_hidden IS NULL) " +
+                   "AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                   "AND m.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :query)) DESC, m.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM messages m " +
+                        "JOIN conversation_participants p ON p.conversation_id = m.conversation_id " +
+                        "WHERE p.user_id = :userId AND (p.is_hidden = false OR p.is_hidden IS NULL) " +
+                        "AND (m.is_deleted = false OR m.is_deleted IS NULL) " +
+                        "AND m.search_vector @@ to_tsquery('simple', :query)",
+           nativeQuery = true)
+    Page<Message> searchUserMessages(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.model.PendingPointsChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PendingPointsChangeRepository extends JpaRepository<PendingPointsChange, Long> {
+
+    // Oldest changes first, so each user's changes are applied in the order they were made
+    List<PendingPointsChange> findByFailedFalseOrderByPendingPointsChangeIdAsc(Pageable pageable);
+
+    long countByFailedTrue();
+
+    // Claims the rows for the applying transaction: a concurrent claimer blocks on the row locks and then
+    // gets back only the ids still present. Not @Modifying for the same reason as UserRepository.addPoints
+    @Query(value = "DELETE FROM pending_points_changes WHERE pending_points_change_id IN (:ids) " +
+                   "RETURNING pending_points_change_id",
+           nativeQuery = true)
+    List<Long> claim(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingPointsChange c SET c.failed = true, c.lastError = :error " +
+           "WHERE c.pendingPointsChangeId IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingPointsChange c SET c.failed = false, c.lastError = null WHERE c.failed = true")
+    int resetFailed();
+}
@@ -0,0 +1,48 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.dto.response.PointsSourceTotal;
+import com.example.unihub.model.PointsDailySourceRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PointsDailySourceRollupRepository extends JpaRepository<PointsDailySourceRollup, Long> {
+    
+    @Modifying
+    @Query(value = "DELETE FROM points_daily_source WHERE rollup_date >= :from", nativeQuery = true)
+    int deleteFromDate(@Param("from") LocalDate from);
+    
+    // Re-aggregate the raw ledger from the given day onwards
+    @Modifying
+    @Query(value = "INSERT INTO points_daily_source (rollup_date, university_id, source_type, points, entries) " +
+                   "SELECT CAST(p.created_at AS DATE), u.university_id, p.source_type, SUM(p.points), COUNT(*) " +
+                   "FROM points_log p JOIN users u ON u.user_id = p.user_id " +
+                   "WHERE p.created_at >= :from " +
+                   "GROUP BY CAST(p.created_at AS DATE), u.university_id, p.source_type",
+           nativeQuery = true)
+    int rollupFrom(@Param("from") LocalDateTime from);
+    
+    // Top sources by net points
+    @Query("SELECT new com.example.unihub.dto.response.PointsSourceTotal(r.sourceType, SUM(r.points), SUM(r.entries)) " +
+           "FROM PointsDailySourceRollup r WHERE r.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY r.sourceType ORDER BY SUM(r.points) DESC")
+    List<PointsSourceTotal> findTopSources(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+    
+    @Query("SELECT new com.example.unihub.dto.response.PointsSourceTotal(r.sourceType, SUM(r.points), SUM(r.entries)) " +
+           "FROM PointsDailySourceRollup r WHERE r.universityId = :universityId AND r.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY r.sourceType ORDER BY SUM(r.points) DESC")
+    List<PointsSourceTotal> findTopSourcesByUniversity(@Param("universityId") Long universityId,
+                                                       @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                       Pageable pageable);
+    
+    @Query("SELECT SUM(r.points) FROM PointsDailySourceRollup r WHERE r.sourceType = :sourceType")
+    Long sumPointsBySourceType(@Param("sourceType") String sourceType);
+}
@@ -0,0 +1,53 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.dto.response.PointsTrendPoint;
+import com.example.unihub.model.PointsDailyUserRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PointsDailyUserRollupRepository extends JpaRepository<PointsDailyUserRollup, Long> {
+    
+    @Query("SELECT MAX(r.rollupDate) FROM PointsDailyUserRollup r")
+    LocalDate findLatestDate();
+    
+    @Modifying
+    @Query(value = "DELETE FROM points_daily_user WHERE rollup_date >= :from", nativeQuery = true)
+    int deleteFromDate(@Param("from") LocalDate from);
+    
+    // Re-aggregate the raw ledger from the given day onwards
+    @Modifying
+    @Query(value = "INSERT INTO points_daily_user (rollup_date, user_id, university_id, points, entries) " +
+                   "SELECT CAST(p.created_at AS DATE), p.user_id, u.university_id, SUM(p.points), COUNT(*) " +
+                   "FROM points_log p JOIN users u ON u.user_id = p.user_id " +
+                   "WHERE p.created_at >= :from " +
+                   "GROUP BY CAST(p.created_at AS DATE), p.user_id, u.university_id",
+           nativeQuery = true)
+    int rollupFrom(@Param("from") LocalDateTime from);
+    
+    // Points over time
+    @Query("SELECT new com.example.unihub.dto.response.PointsTrendPoint(r.rollupDate, SUM(r.points), SUM(r.entries)) " +
+           "FROM PointsDailyUserRollup r WHERE r.rollupDate BETWEEN :from AND :to GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<PointsTrendPoint> findTrend(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT new com.example.unihub.dto.response.PointsTrendPoint(r.rollupDate, SUM(r.points), SUM(r.entries)) " +
+           "FROM PointsDailyUserRollup r WHERE r.universityId = :universityId AND r.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<PointsTrendPoint> findTrendByUniversity(@Param("universityId") Long universityId,
+                                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT new com.example.unihub.dto.response.PointsTrendPoint(r.rollupDate, r.points, r.entries) " +
+           "FROM PointsDailyUserRollup r WHERE r.userId = :userId AND r.rollupDate BETWEEN :from AND :to ORDER BY r.rollupDate")
+    List<PointsTrendPoint> findTrendByUser(@Param("userId") Long userId,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT SUM(r.points) FROM PointsDailyUserRollup r WHERE r.userId = :userId")
+    Long sumPointsByUserId(@Param("userId") Long userId);
+}
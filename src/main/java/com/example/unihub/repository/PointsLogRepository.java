@@ -2,9 +2,12 @@ package com.example.unihub.repository;
 
 import com.example.unihub.model.PointsLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,10 +22,29 @@ public interface PointsLogRepository extends JpaRepository<PointsLog, Long> {
     // Get points for specific source
     List<PointsLog> findBySourceTypeAndSourceId(String sourceType, Long sourceId);
     
-    // Sum points for analytics
-    @Query("SELECT SUM(p.points) FROM PointsLog p WHERE p.user.userId = :userId")
-    Integer sumPointsByUserId(Long userId);
+    // (userId, day, net points) since the given time, used to build the windowed leaderboards
+    @Query("SELECT p.user.userId, CAST(p.createdAt AS LocalDate), SUM(p.points) FROM PointsLog p " +
+           "WHERE p.createdAt >= :from GROUP BY p.user.userId, CAST(p.createdAt AS LocalDate)")
+    List<Object[]> sumDailyPointsSince(@Param("from") LocalDateTime from);
     
-    @Query("SELECT SUM(p.points) FROM PointsLog p WHERE p.sourceType = :sourceType")
-    Integer sumPointsBySourceType(String sourceType);
+    // Net points of one user in [from, to), used to refresh a day of the windowed leaderboards
+    @Query("SELECT SUM(p.points) FROM PointsLog p WHERE p.user.userId = :userId " +
+           "AND p.createdAt >= :from AND p.createdAt < :to")
+    Long sumPointsByUserIdBetween(@Param("userId") Long userId,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+    
+    // Move raw rows older than the cutoff into points_log_archive (rollups keep their totals).
+    // Columns are listed by name so the two tables do not need the same column order
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM points_log WHERE created_at < :cutoff " +
+                   "RETURNING points_log_id, user_id, source_type, source_id, points, description, created_at) " +
+                   "INSERT INTO points_log_archive (points_log_id, user_id, source_type, source_id, points, description, created_at) " +
+                   "SELECT points_log_id, user_id, source_type, source_id, points, description, created_at FROM moved",
+           nativeQuery = true)
+    int archiveBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query(value = "DELETE FROM points_log WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteBefore(@Param("cutoff") LocalDateTime cutoff);
 }
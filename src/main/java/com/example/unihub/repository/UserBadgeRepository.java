@@ -1,6 +1,7 @@
 package com.example.unihub.repository;
 
 import com.example.unihub.model.UserBadge;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +10,8 @@ import java.util.List;
 @Repository
 public interface UserBadgeRepository extends JpaRepository<UserBadge, Long> {
     
-    // Get all badges earned by a user
+    // Get all badges earned by a user (serialized with the badge and the user's current badge)
+    @EntityGraph(attributePaths = {"badge", "user", "user.currentBadge"})
     List<UserBadge> findByUserUserIdOrderByEarnedAtDesc(Long userId);
     
     // Get users who earned a specific badge
@@ -1,30 +1,71 @@
 package com.example.unihub.repository;
 
+import com.example.unihub.dto.response.LeaderboardEntry;
+import com.example.unihub.model.Badge;
 import com.example.unihub.model.User;
 import com.example.unihub.enums.UserRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Resolves the current user on most requests; profile reads need the university and badge
+    @EntityGraph(attributePaths = {"university", "currentBadge"})
     Optional<User> findByEmail(String email);
     
+    @EntityGraph(attributePaths = {"university", "currentBadge"})
+    @Override
+    List<User> findAll();
+    
     boolean existsByEmail(String email);
     
-    // Leaderboard queries
-    List<User> findByUniversityUniversityIdOrderByPointsDesc(Long universityId);
+    // Slim leaderboard rows for the user ids the in-memory leaderboard index ranked
+    @Query("SELECT new com.example.unihub.dto.response.LeaderboardEntry(u.userId, u.name, u.points, un.universityId, un.name, b.name) " +
+           "FROM User u LEFT JOIN u.university un LEFT JOIN u.currentBadge b " +
+           "WHERE u.userId IN :userIds")
+    List<LeaderboardEntry> findLeaderboardEntriesByIds(@Param("userIds") Collection<Long> userIds);
+    
+    // (userId, points, universityId) rows used to build the in-memory leaderboard index
+    @Query("SELECT u.userId, u.points, un.universityId FROM User u LEFT JOIN u.university un")
+    List<Object[]> findLeaderboardRows();
+    
+    // Atomic point changes in a single statement; RETURNING hands back the new total without a re-read.
+    // Deliberately not @Modifying: that would run executeUpdate and return the row count instead of the
+    // RETURNING value. Run as a native select the statement still flushes pending changes first, but it
+    // does not clear the persistence context, so callers must copy the returned total onto any loaded
+    // User (points is not updatable, so the stale value is never written back)
+    @Query(value = "UPDATE users SET points = points + :delta WHERE user_id = :userId RETURNING points",
+           nativeQuery = true)
+    Integer addPoints(@Param("userId") Long userId, @Param("delta") int delta);
+    
+    // Same as addPoints but never drops below zero
+    @Query(value = "UPDATE users SET points = GREATEST(points - :amount, 0) WHERE user_id = :userId RETURNING points",
+           nativeQuery = true)
+    Integer deductPoints(@Param("userId") Long userId, @Param("amount") int amount);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.points = :points WHERE u.userId = :userId")
+    int setPoints(@Param("userId") Long userId, @Param("points") int points);
     
-    List<User> findAllByOrderByPointsDesc();
+    @Modifying
+    @Query("UPDATE User u SET u.currentBadge = :badge WHERE u.userId = :userId")
+    int setCurrentBadge(@Param("userId") Long userId, @Param("badge") Badge badge);
     
     // Filter by role
+    @EntityGraph(attributePaths = {"university", "currentBadge"})
     List<User> findByRole(UserRole role);
     
+    @EntityGraph(attributePaths = {"university", "currentBadge"})
     List<User> findByUniversityUniversityId(Long universityId);
     
     // Count users
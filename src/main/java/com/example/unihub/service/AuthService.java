@@ -8,7 +8,6 @@ import com.example.unihub.model.Badge;
 import com.example.unihub.model.EmailVerificationToken;
 import com.example.unihub.model.University;
 import com.example.unihub.model.User;
-import com.example.unihub.repository.BadgeRepository;
 import com.example.unihub.repository.EmailVerificationTokenRepository;
 import com.example.unihub.repository.UniversityRepository;
 import com.example.unihub.repository.UserRepository;
@@ -34,12 +33,13 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final UniversityRepository universityRepository;
-    private final BadgeRepository badgeRepository;
+    private final BadgeLadderService badgeLadderService;
     private final EmailVerificationTokenRepository verificationTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final LeaderboardIndex leaderboardIndex;
 
     /**
      * Register a new user
@@ -85,11 +85,10 @@ public class AuthService {
         user.setUniversity(university);
         
         // Assign default badge (lowest threshold)
-        Badge defaultBadge = badgeRepository.findTopByPointsThresholdLessThanEqualOrderByPointsThresholdDesc(0)
-            .orElse(null);
-        user.setCurrentBadge(defaultBadge);
+        user.setCurrentBadge(badgeLadderService.getDefaultBadge());
         
         user = userRepository.save(user);
+        leaderboardIndex.update(user);
         
         // Create verification token
         String token = UUID.randomUUID().toString();
@@ -0,0 +1,65 @@
+package com.example.unihub.service;
+
+import com.example.unihub.event.BadgeLadderChangedEvent;
+import com.example.unihub.model.Badge;
+import com.example.unihub.repository.BadgeRepository;
+import com.example.unihub.util.BadgeLadder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Holds the badge ladder in memory so badge resolution on every point change does not
+ * hit the database. Badges are seeded by DataInitializer and rarely change; call
+ * {@link #reload()} after modifying them; a threshold change triggers a bulk badge
+ * recalculation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeLadderService {
+
+    private final BadgeRepository badgeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile BadgeLadder ladder = BadgeLadder.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        BadgeLadder previous = ladder;
+        ladder = new BadgeLadder(badgeRepository.findAllByOrderByPointsThresholdAsc());
+        log.info("Loaded badge ladder with {} badges", ladder.size());
+
+        // Stored badges were resolved against the old thresholds
+        if (previous.size() > 0 && !previous.hasSameThresholds(ladder)) {
+            eventPublisher.publishEvent(new BadgeLadderChangedEvent());
+        }
+    }
+
+    /**
+     * Highest badge the given points qualify for
+     */
+    public Optional<Badge> resolve(int points) {
+        return ladder.resolve(points);
+    }
+
+    /**
+     * Badge assigned to new users (lowest threshold)
+     */
+    public Badge getDefaultBadge() {
+        return ladder.resolve(0).orElse(null);
+    }
+
+    /**
+     * All badges, lowest threshold first
+     */
+    public List<Badge> getAllBadges() {
+        return ladder.getBadges();
+    }
+}
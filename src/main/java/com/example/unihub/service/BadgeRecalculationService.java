@@ -0,0 +1,139 @@
+package com.example.unihub.service;
+
+import com.example.unihub.config.AsyncConfig;
+import com.example.unihub.model.Badge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bulk repair of User.currentBadge against the in-memory badge ladder. Users are read in
+ * keyset-paged chunks of (id, points, badge); badges are resolved in memory and only the
+ * changed rows are written, with JDBC batch updates for users and batch inserts for the
+ * user_badges history. Each chunk commits on its own, so a rerun picks up where a failed
+ * one stopped. No notifications are sent for these corrections.
+ * <p>
+ * A badge is only written while the user's points still match the value the chunk read;
+ * if the gamification worker moved them in between, it has already assigned the badge for
+ * the new total and the row is left alone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeRecalculationService {
+
+    private static final String SELECT_CHUNK =
+            "SELECT user_id, points, current_badge_id FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+    private static final String SELECT_USER =
+            "SELECT user_id, points, current_badge_id FROM users WHERE user_id = ?";
+    private static final String UPDATE_BADGE =
+            "UPDATE users SET current_badge_id = ? WHERE user_id = ? AND points = ?";
+    private static final String INSERT_USER_BADGE =
+            "INSERT INTO user_badges (user_id, badge_id, earned_at) SELECT ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM user_badges WHERE user_id = ? AND badge_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BadgeLadderService badgeLadderService;
+
+    @Value("${app.gamification.badge-recalculation.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Recalculate the badge of every user in the background. Throws TaskRejectedException when
+     * a run is already waiting; that run reads the current badge ladder when it starts.
+     */
+    @Async(AsyncConfig.BADGE_RECALCULATION_EXECUTOR)
+    public void recalculateAll() {
+        long started = System.currentTimeMillis();
+        Result total = new Result(0, 0, 0);
+        long lastUserId = 0;
+        while (true) {
+            List<UserBadgeRow> chunk = jdbcTemplate.query(SELECT_CHUNK, this::mapRow, lastUserId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            total = total.plus(apply(chunk));
+            lastUserId = chunk.get(chunk.size() - 1).userId();
+        }
+        log.info("Recalculated badges for {} users in {} ms: {} changed, {} history rows added",
+                total.usersScanned(), System.currentTimeMillis() - started, total.badgesChanged(), total.badgesRecorded());
+    }
+
+    /**
+     * Recalculate the badge of one user (e.g. after an admin points correction)
+     */
+    public Result recalculateUser(Long userId) {
+        return apply(jdbcTemplate.query(SELECT_USER, this::mapRow, userId));
+    }
+
+    private Result apply(List<UserBadgeRow> rows) {
+        List<UserBadgeRow> changed = new ArrayList<>();
+        List<Long> badgeIds = new ArrayList<>();
+        List<Object[]> badgeUpdates = new ArrayList<>();
+
+        for (UserBadgeRow row : rows) {
+            Long badgeId = badgeLadderService.resolve(row.points()).map(Badge::getBadgeId).orElse(null);
+            if (Objects.equals(badgeId, row.currentBadgeId())) {
+                continue;
+            }
+            changed.add(row);
+            badgeIds.add(badgeId);
+            badgeUpdates.add(new Object[]{badgeId, row.userId(), row.points()});
+        }
+        if (badgeUpdates.isEmpty()) {
+            return new Result(rows.size(), 0, 0);
+        }
+
+        // Rows whose points moved since the read were not updated and get no history either
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_BADGE, badgeUpdates);
+        List<Object[]> historyInserts = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = 0;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                continue;
+            }
+            updated++;
+            Long userId = changed.get(i).userId();
+            Long badgeId = badgeIds.get(i);
+            if (badgeId != null) {
+                historyInserts.add(new Object[]{userId, badgeId, now, userId, badgeId});
+            }
+        }
+
+        int recorded = 0;
+        if (!historyInserts.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(INSERT_USER_BADGE, historyInserts)) {
+                recorded += Math.max(count, 0);
+            }
+        }
+        return new Result(rows.size(), updated, recorded);
+    }
+
+    private UserBadgeRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        long badgeId = rs.getLong("current_badge_id");
+        Long currentBadgeId = rs.wasNull() ? null : badgeId;
+        return new UserBadgeRow(rs.getLong("user_id"), rs.getInt("points"), currentBadgeId);
+    }
+
+    public record Result(int usersScanned, int badgesChanged, int badgesRecorded) {
+        Result plus(Result other) {
+            return new Result(usersScanned + other.usersScanned, badgesChanged + other.badgesChanged,
+                    badgesRecorded + other.badgesRecorded);
+        }
+    }
+
+    private record UserBadgeRow(long userId, int points, Long currentBadgeId) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.unihub.service;
 
 import com.example.unihub.dto.request.CreateBlogRequest;
+import com.example.unihub.dto.response.BlogSummary;
 import com.example.unihub.enums.BlogStatus;
 import com.example.unihub.enums.NotificationType;
 import com.example.unihub.enums.UserRole;
@@ -10,20 +11,30 @@ import com.example.unihub.model.Notification;
 import com.example.unihub.model.User;
 import com.example.unihub.repository.BlogReportRepository;
 import com.example.unihub.repository.BlogRepository;
+import com.example.unihub.repository.BlogSpecifications;
 import com.example.unihub.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BlogService {
 
+    // Newest first, id as tie-breaker so pages are stable
+    private static final Sort FEED_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("blogId"));
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final BlogRepository blogRepository;
     private final BlogReportRepository blogReportRepository;
     private final NotificationRepository notificationRepository;
@@ -110,33 +121,27 @@ public class BlogService {
     }
 
     /**
-     * Get all blogs with optional filters
+     * Get all blogs with optional filters (newest first), as summaries without content.
+     * {@code search} matches the title or the full content.
      */
-    public List<Blog> getAllBlogs(Long universityId, String category, BlogStatus status, Boolean isGlobal) {
-        List<Blog> blogs;
-        if (universityId != null && status != null) {
-            // Return university blogs + global blogs if status is APPROVED
-            if (status == BlogStatus.APPROVED) {
-                blogs = blogRepository.findByUniversityOrGlobalAndStatus(universityId, status);
-            } else {
-                blogs = blogRepository.findByUniversityUniversityIdAndStatus(universityId, status);
-            }
-        } else if (universityId != null) {
-            blogs = blogRepository.findByUniversityUniversityId(universityId);
-        } else if (category != null && status != null) {
-            blogs = blogRepository.findByCategoryAndStatus(category, status);
-        } else if (category != null) {
-            blogs = blogRepository.findByCategory(category);
-        } else if (status != null) {
-            blogs = blogRepository.findByStatus(status);
-        } else if (isGlobal != null && isGlobal && status != null) {
-            blogs = blogRepository.findByIsGlobalTrueAndStatus(status);
-        } else {
-            blogs = blogRepository.findAll();
-        }
+    public List<BlogSummary> getAllBlogs(Long universityId, String category, BlogStatus status, Boolean isGlobal,
+                                         String search) {
+        List<BlogSummary> blogs = blogRepository.findSummaries(
+                BlogSpecifications.feed(universityId, category, status, isGlobal, search), FEED_ORDER);
+        applySummaryReportCounts(blogs);
+        return blogs;
+    }
 
-        applyReportCounts(blogs);
-        return sortByCreatedAtDesc(blogs);
+    /**
+     * Get one page of blogs with optional filters (newest first); filtering, ordering and paging run in SQL
+     */
+    public Page<BlogSummary> getBlogs(Long universityId, String category, BlogStatus status, Boolean isGlobal,
+                                      String search, int page, int size) {
+        Page<BlogSummary> blogs = blogRepository.findSummaries(
+                BlogSpecifications.feed(universityId, category, status, isGlobal, search),
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)), FEED_ORDER));
+        applySummaryReportCounts(blogs.getContent());
+        return blogs;
     }
 
     /**
@@ -220,19 +225,19 @@ public class BlogService {
     /**
      * Get blogs by author
      */
-    public List<Blog> getBlogsByAuthor(Long authorId) {
-        List<Blog> blogs = blogRepository.findByAuthorUserId(authorId);
-        applyReportCounts(blogs);
-        return sortByCreatedAtDesc(blogs);
+    public List<BlogSummary> getBlogsByAuthor(Long authorId) {
+        List<BlogSummary> blogs = blogRepository.findSummaries(BlogSpecifications.byAuthor(authorId), FEED_ORDER);
+        applySummaryReportCounts(blogs);
+        return blogs;
     }
 
     /**
      * Get pending blogs for approval
      */
-    public List<Blog> getPendingBlogs() {
-        List<Blog> blogs = blogRepository.findByStatus(BlogStatus.PENDING);
-        applyReportCounts(blogs);
-        return sortByCreatedAtDesc(blogs);
+    public List<BlogSummary> getPendingBlogs() {
+        List<BlogSummary> blogs = blogRepository.findSummaries(BlogSpecifications.hasStatus(BlogStatus.PENDING), FEED_ORDER);
+        applySummaryReportCounts(blogs);
+        return blogs;
     }
 
     /**
@@ -264,21 +269,22 @@ public class BlogService {
         log.info("Blog {} deleted successfully by user {}", blogId, currentUser.getUserId());
     }
 
-    private List<Blog> sortByCreatedAtDesc(List<Blog> blogs) {
-        if (blogs == null) {
-            return List.of();
+    private void applySummaryReportCounts(List<BlogSummary> blogs) {
+        Map<Long, Long> counts = loadReportCounts(blogs.stream().map(BlogSummary::getBlogId).toList());
+        for (BlogSummary blog : blogs) {
+            blog.setReportCount(counts.getOrDefault(blog.getBlogId(), 0L));
         }
-        blogs.sort(Comparator.comparing(Blog::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed());
-        return blogs;
     }
 
-    private void applyReportCounts(List<Blog> blogs) {
-        if (blogs == null) {
-            return;
-        }
-        for (Blog blog : blogs) {
-            applyReportCount(blog);
+    private Map<Long, Long> loadReportCounts(List<Long> blogIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> ids = blogIds.stream().filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            for (Object[] row : blogReportRepository.countByBlogIds(ids)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
         }
+        return counts;
     }
 
     private void applyReportCount(Blog blog) {
@@ -2,13 +2,17 @@ package com.example.unihub.service;
 
 import com.example.unihub.dto.*;
 import com.example.unihub.enums.MessageType;
+import com.example.unihub.event.ChatBroadcastEvent;
 import com.example.unihub.model.*;
 import com.example.unihub.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,13 +24,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ConversationRepository conversationRepository;
     private final ConversationParticipantRepository participantRepository;
     private final MessageRepository messageRepository;
     private final MessageReactionRepository reactionRepository;
-    private final MessageReadReceiptRepository readReceiptRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ConversationResponse createConversation(CreateConversationRequest request, Long currentUserId) {
@@ -77,15 +82,21 @@ public class ChatService {
     public List<ConversationResponse> getUserConversations(Long userId) {
         try {
             List<Conversation> conversations = conversationRepository.findByUserId(userId);
-            return conversations.stream()
-                    .map(c -> buildConversationResponse(c, userId))
-                    .collect(Collectors.toList());
+            return buildConversationResponses(conversations, userId);
         } catch (Exception e) {
             // Return empty list if no conversations or error
             return new ArrayList<>();
         }
     }
 
+    @Transactional(readOnly = true)
+    public Page<ConversationResponse> getUserConversations(Long userId, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        Page<Conversation> conversations = conversationRepository.findPageByUserId(userId, pageable);
+        return new PageImpl<>(buildConversationResponses(conversations.getContent(), userId),
+                pageable, conversations.getTotalElements());
+    }
+
     @Transactional
     public MessageResponse sendMessage(SendMessageRequest request, Long senderId) {
         User sender = userRepository.findById(senderId)
@@ -119,10 +130,12 @@ public class ChatService {
         conversation.setUpdatedAt(LocalDateTime.now());
         conversationRepository.save(conversation);
 
+        participantRepository.incrementUnreadCount(conversation.getConversationId(), senderId);
+
         MessageResponse response = buildMessageResponse(message);
 
-        // Send via WebSocket
-        messagingTemplate.convertAndSend("/topic/conversation/" + conversation.getConversationId(), response);
+        // Send via WebSocket once the message is committed
+        broadcast("/topic/conversation/" + conversation.getConversationId(), response);
 
         return response;
     }
@@ -133,25 +146,75 @@ public class ChatService {
         participantRepository.findByConversationConversationIdAndUserUserId(conversationId, userId)
                 .orElseThrow(() -> new RuntimeException("Not a participant"));
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Message> messages = messageRepository
-                .findByConversationConversationIdAndIsDeletedFalseOrderByCreatedAtDesc(conversationId, pageable);
+        Pageable pageable = pageRequest(page, size);
+        Page<Message> messages = messageRepository.findPageWithSendersAndReplies(conversationId, pageable);
+
+        return new PageImpl<>(buildMessageResponses(messages.getContent()), pageable, messages.getTotalElements());
+    }
+
+    /**
+     * Cursor-based history: the page of messages older than {@code beforeMessageId}.
+     * Cost does not depend on how far back the cursor is.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MessageResponse> getMessagesBefore(Long conversationId, Long beforeMessageId, Long userId, int size) {
+        participantRepository.findByConversationConversationIdAndUserUserId(conversationId, userId)
+                .orElseThrow(() -> new RuntimeException("Not a participant"));
+
+        Message cursor = messageRepository.findById(beforeMessageId)
+                .filter(m -> m.getConversation().getConversationId().equals(conversationId))
+                .orElseThrow(() -> new RuntimeException("Message not found"));
+
+        Pageable pageable = pageRequest(0, size);
+        Slice<Message> messages = messageRepository.findBefore(
+                conversationId, cursor.getCreatedAt(), cursor.getMessageId(), pageable);
 
-        return messages.map(this::buildMessageResponse);
+        return new SliceImpl<>(buildMessageResponses(messages.getContent()), pageable, messages.hasNext());
     }
 
+    /**
+     * Acknowledge every message up to {@code upToMessageId} (or the whole conversation
+     * when null) by moving the participant's read watermark. One write regardless of
+     * how many messages are covered; the watermark never moves backwards.
+     */
     @Transactional
-    public void markAsRead(Long conversationId, Long userId) {
+    public void markAsRead(Long conversationId, Long userId, Long upToMessageId) {
         ConversationParticipant participant = participantRepository
                 .findByConversationConversationIdAndUserUserId(conversationId, userId)
                 .orElseThrow(() -> new RuntimeException("Not a participant"));
 
-        participant.setLastReadAt(LocalDateTime.now());
+        if (upToMessageId != null
+                && !messageRepository.existsByMessageIdAndConversationConversationId(upToMessageId, conversationId)) {
+            throw new IllegalArgumentException("Message does not belong to this conversation");
+        }
+
+        Long latestMessageId = messageRepository.findLatestMessageId(conversationId);
+        Long readUpTo = upToMessageId == null || (latestMessageId != null && upToMessageId > latestMessageId)
+                ? latestMessageId
+                : upToMessageId;
+
+        if (readUpTo != null && (participant.getLastReadMessageId() == null
+                || readUpTo > participant.getLastReadMessageId())) {
+            participant.setLastReadMessageId(readUpTo);
+        }
+
+        Long watermark = participant.getLastReadMessageId();
+        if (watermark == null || watermark.equals(latestMessageId)) {
+            participant.setUnreadCount(0L);
+        } else {
+            participant.setUnreadCount(messageRepository.countUnreadAfter(conversationId, userId, watermark));
+        }
+
+        LocalDateTime readAt = LocalDateTime.now();
+        participant.setLastReadAt(readAt);
         participantRepository.save(participant);
 
         // Notify others
-        messagingTemplate.convertAndSend("/topic/conversation/" + conversationId + "/read",
-                Map.of("userId", userId, "readAt", LocalDateTime.now()));
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("userId", userId);
+        payload.put("readAt", readAt);
+        payload.put("lastReadMessageId", watermark);
+        broadcast("/topic/conversation/" + conversationId + "/read", payload);
     }
 
     @Transactional
@@ -168,7 +231,7 @@ public class ChatService {
         message = messageRepository.save(message);
 
         MessageResponse response = buildMessageResponse(message);
-        messagingTemplate.convertAndSend("/topic/conversation/" + message.getConversation().getConversationId() + "/edit", response);
+        broadcast("/topic/conversation/" + message.getConversation().getConversationId() + "/edit", response);
 
         return response;
     }
@@ -186,7 +249,7 @@ public class ChatService {
         message.setContent(null);
         messageRepository.save(message);
 
-        messagingTemplate.convertAndSend("/topic/conversation/" + message.getConversation().getConversationId() + "/delete",
+        broadcast("/topic/conversation/" + message.getConversation().getConversationId() + "/delete",
                 Map.of("messageId", messageId));
     }
 
@@ -212,7 +275,7 @@ public class ChatService {
         }
 
         MessageResponse response = buildMessageResponse(message);
-        messagingTemplate.convertAndSend("/topic/conversation/" + message.getConversation().getConversationId() + "/reaction", response);
+        broadcast("/topic/conversation/" + message.getConversation().getConversationId() + "/reaction", response);
     }
 
     @Transactional(readOnly = true)
@@ -220,65 +283,185 @@ public class ChatService {
         participantRepository.findByConversationConversationIdAndUserUserId(conversationId, userId)
                 .orElseThrow(() -> new RuntimeException("Not a participant"));
 
-        List<Message> messages = messageRepository.searchMessages(conversationId, query);
-        return messages.stream().map(this::buildMessageResponse).collect(Collectors.toList());
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return new ArrayList<>();
+        }
+        List<Message> messages = messageRepository.searchMessages(conversationId, tsQuery);
+        return buildMessageResponses(messages);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MessageResponse> searchMessages(Long conversationId, String query, Long userId, int page, int size) {
+        participantRepository.findByConversationConversationIdAndUserUserId(conversationId, userId)
+                .orElseThrow(() -> new RuntimeException("Not a participant"));
+
+        Pageable pageable = pageRequest(page, size);
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return Page.empty(pageable);
+        }
+        Page<Message> messages = messageRepository.searchMessages(conversationId, tsQuery, pageable);
+        return new PageImpl<>(buildMessageResponses(messages.getContent()), pageable, messages.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MessageResponse> searchAllMessages(String query, Long userId, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return Page.empty(pageable);
+        }
+        Page<Message> messages = messageRepository.searchUserMessages(userId, tsQuery, pageable);
+        return new PageImpl<>(buildMessageResponses(messages.getContent()), pageable, messages.getTotalElements());
     }
 
     @Transactional
     public void deleteConversationForUser(Long conversationId, Long userId) {
-        ConversationParticipant participant = participantRepository
-                .findByConversationConversationIdAndUserUserId(conversationId, userId)
-                .orElseThrow(() -> new RuntimeException("Not a participant"));
+        // Mark as hidden instead of deleting; a targeted update so a concurrent unread increment is kept
+        if (participantRepository.hideForUser(conversationId, userId) == 0) {
+            throw new RuntimeException("Not a participant");
+        }
+    }
 
-        // Mark as hidden instead of deleting
-        participant.setIsHidden(true);
-        participantRepository.save(participant);
+    // Out-of-range page and size values from the client are clamped instead of failing in PageRequest
+    private static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Turn free text into a to_tsquery expression where every word matches as a prefix
+     * ("prog" finds "programming"), or null when nothing searchable is left. Only letters
+     * and digits are kept, so user input cannot inject tsquery operators.
+     */
+    private static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        String tsQuery = Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+
+    private void broadcast(String destination, Object payload) {
+        eventPublisher.publishEvent(new ChatBroadcastEvent(destination, payload));
     }
 
     private ConversationResponse buildConversationResponse(Conversation conversation, Long currentUserId) {
-        ConversationResponse response = new ConversationResponse();
-        response.setConversationId(conversation.getConversationId());
-        response.setIsGroup(conversation.getIsGroup());
-        response.setGroupName(conversation.getGroupName());
-        response.setGroupAvatar(conversation.getGroupAvatar());
-        response.setCreatedAt(conversation.getCreatedAt());
-        response.setUpdatedAt(conversation.getUpdatedAt());
+        return buildConversationResponses(List.of(conversation), currentUserId).get(0);
+    }
+
+    /**
+     * Build inbox entries for several conversations with a fixed number of queries:
+     * one for participants (which also carry the unread counters) and one for last
+     * messages plus their hydration, regardless of how many conversations the user is in.
+     */
+    private List<ConversationResponse> buildConversationResponses(List<Conversation> conversations, Long currentUserId) {
+        if (conversations.isEmpty()) {
+            return new ArrayList<>();
+        }
 
+        List<Long> conversationIds = conversations.stream()
+                .map(Conversation::getConversationId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<ConversationParticipant>> participantsByConversation = new HashMap<>();
+        Map<Long, MessageResponse> lastMessageByConversation = new HashMap<>();
+        boolean loaded = true;
         try {
-            List<ConversationParticipant> participants = participantRepository
-                    .findByConversationConversationId(conversation.getConversationId());
-
-            response.setParticipants(participants.stream().map(p -> {
-                ConversationResponse.ParticipantInfo info = new ConversationResponse.ParticipantInfo();
-                info.setUserId(p.getUser().getUserId());
-                info.setName(p.getUser().getName());
-                info.setEmail(p.getUser().getEmail());
-                info.setIsAdmin(p.getIsAdmin());
-                info.setLastReadAt(p.getLastReadAt());
-                return info;
-            }).collect(Collectors.toList()));
-
-            // Get last message
-            Page<Message> lastMessages = messageRepository
-                    .findByConversationConversationIdAndIsDeletedFalseOrderByCreatedAtDesc(
-                            conversation.getConversationId(), PageRequest.of(0, 1));
-            if (!lastMessages.isEmpty()) {
-                response.setLastMessage(buildMessageResponse(lastMessages.getContent().get(0)));
+            participantsByConversation = participantRepository.findByConversationIds(conversationIds).stream()
+                    .collect(Collectors.groupingBy(p -> p.getConversation().getConversationId()));
+
+            // Keep the highest id when several messages share the latest timestamp
+            Map<Long, Message> lastMessages = messageRepository.findLastMessages(conversationIds).stream()
+                    .collect(Collectors.toMap(
+                            m -> m.getConversation().getConversationId(),
+                            m -> m,
+                            (a, b) -> a.getMessageId() > b.getMessageId() ? a : b));
+            for (MessageResponse lastMessage : buildMessageResponses(new ArrayList<>(lastMessages.values()))) {
+                lastMessageByConversation.put(lastMessage.getConversationId(), lastMessage);
             }
-
-            // Get unread count
-            Long unreadCount = participantRepository.countUnreadMessages(conversation.getConversationId(), currentUserId);
-            response.setUnreadCount(unreadCount != null ? unreadCount : 0L);
         } catch (Exception e) {
-            // Set defaults if error
-            response.setParticipants(new ArrayList<>());
-            response.setUnreadCount(0L);
+            // Fall back to defaults if the inbox data could not be loaded
+            loaded = false;
         }
 
-        return response;
+        List<ConversationResponse> responses = new ArrayList<>();
+        for (Conversation conversation : conversations) {
+            ConversationResponse response = new ConversationResponse();
+            response.setConversationId(conversation.getConversationId());
+            response.setIsGroup(conversation.getIsGroup());
+            response.setGroupName(conversation.getGroupName());
+            response.setGroupAvatar(conversation.getGroupAvatar());
+            response.setCreatedAt(conversation.getCreatedAt());
+            response.setUpdatedAt(conversation.getUpdatedAt());
+
+            if (loaded) {
+                List<ConversationParticipant> participants = participantsByConversation
+                        .getOrDefault(conversation.getConversationId(), List.of());
+                response.setParticipants(participants.stream().map(p -> {
+                    ConversationResponse.ParticipantInfo info = new ConversationResponse.ParticipantInfo();
+                    info.setUserId(p.getUser().getUserId());
+                    info.setName(p.getUser().getName());
+                    info.setEmail(p.getUser().getEmail());
+                    info.setIsAdmin(p.getIsAdmin());
+                    info.setLastReadAt(p.getLastReadAt());
+                    info.setLastReadMessageId(p.getLastReadMessageId());
+                    return info;
+                }).collect(Collectors.toList()));
+                response.setLastMessage(lastMessageByConversation.get(conversation.getConversationId()));
+                response.setUnreadCount(participants.stream()
+                        .filter(p -> p.getUser().getUserId().equals(currentUserId))
+                        .map(ConversationParticipant::getUnreadCount)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElse(0L));
+            } else {
+                response.setParticipants(new ArrayList<>());
+                response.setUnreadCount(0L);
+            }
+            responses.add(response);
+        }
+
+        return responses;
     }
 
     private MessageResponse buildMessageResponse(Message message) {
+        return buildMessageResponses(List.of(message)).get(0);
+    }
+
+    /**
+     * Build responses for a whole page of messages. Reactions are loaded for all
+     * messages in one query, and "read by" is derived from the participants' read
+     * watermarks, loaded once per page.
+     */
+    private List<MessageResponse> buildMessageResponses(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> messageIds = messages.stream().map(Message::getMessageId).collect(Collectors.toList());
+
+        Map<Long, List<MessageReaction>> reactionsByMessage = reactionRepository.findByMessageIds(messageIds).stream()
+                .collect(Collectors.groupingBy(r -> r.getMessage().getMessageId()));
+        Set<Long> conversationIds = messages.stream()
+                .map(m -> m.getConversation().getConversationId())
+                .collect(Collectors.toSet());
+        Map<Long, List<ConversationParticipant>> participantsByConversation = participantRepository
+                .findByConversationIds(conversationIds).stream()
+                .collect(Collectors.groupingBy(p -> p.getConversation().getConversationId()));
+
+        return messages.stream()
+                .map(m -> buildMessageResponse(m,
+                        reactionsByMessage.getOrDefault(m.getMessageId(), List.of()),
+                        participantsByConversation.getOrDefault(m.getConversation().getConversationId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private MessageResponse buildMessageResponse(Message message, List<MessageReaction> reactions,
+                                                 List<ConversationParticipant> participants) {
         MessageResponse response = new MessageResponse();
         response.setMessageId(message.getMessageId());
         response.setConversationId(message.getConversation().getConversationId());
@@ -291,51 +474,49 @@ public class ChatService {
         response.setIsDeleted(message.getIsDeleted());
         response.setCreatedAt(message.getCreatedAt());
         response.setUpdatedAt(message.getUpdatedAt());
-
-        MessageResponse.UserSummary sender = new MessageResponse.UserSummary();
-        sender.setUserId(message.getSender().getUserId());
-        sender.setName(message.getSender().getName());
-        sender.setEmail(message.getSender().getEmail());
-        response.setSender(sender);
+        response.setSender(toUserSummary(message.getSender()));
 
         if (message.getReplyToMessage() != null) {
             MessageResponse.MessageSummary replySummary = new MessageResponse.MessageSummary();
             replySummary.setMessageId(message.getReplyToMessage().getMessageId());
             replySummary.setContent(message.getReplyToMessage().getContent());
-            MessageResponse.UserSummary replySender = new MessageResponse.UserSummary();
-            replySender.setUserId(message.getReplyToMessage().getSender().getUserId());
-            replySender.setName(message.getReplyToMessage().getSender().getName());
-            replySender.setEmail(message.getReplyToMessage().getSender().getEmail());
-            replySummary.setSender(replySender);
+            replySummary.setSender(toUserSummary(message.getReplyToMessage().getSender()));
             response.setReplyToMessage(replySummary);
         }
 
         // Reactions
-        List<MessageReaction> reactions = reactionRepository.findByMessageMessageId(message.getMessageId());
         Map<String, List<MessageResponse.UserSummary>> reactionMap = reactions.stream()
                 .collect(Collectors.groupingBy(
                         MessageReaction::getEmoji,
-                        Collectors.mapping(r -> {
-                            MessageResponse.UserSummary u = new MessageResponse.UserSummary();
-                            u.setUserId(r.getUser().getUserId());
-                            u.setName(r.getUser().getName());
-                            u.setEmail(r.getUser().getEmail());
-                            return u;
-                        }, Collectors.toList())
+                        Collectors.mapping(r -> toUserSummary(r.getUser()), Collectors.toList())
                 ));
         response.setReactions(reactionMap);
 
-        // Read receipts
-        List<MessageReadReceipt> receipts = readReceiptRepository.findByMessageMessageId(message.getMessageId());
-        List<MessageResponse.UserSummary> readBy = receipts.stream().map(r -> {
-            MessageResponse.UserSummary u = new MessageResponse.UserSummary();
-            u.setUserId(r.getUser().getUserId());
-            u.setName(r.getUser().getName());
-            u.setEmail(r.getUser().getEmail());
-            return u;
-        }).collect(Collectors.toList());
+        // Read by: other participants whose watermark has reached this message
+        List<MessageResponse.UserSummary> readBy = participants.stream()
+                .filter(p -> !p.getUser().getUserId().equals(message.getSender().getUserId()))
+                .filter(p -> hasRead(p, message))
+                .map(p -> toUserSummary(p.getUser()))
+                .collect(Collectors.toList());
         response.setReadBy(readBy);
 
         return response;
     }
+
+    private boolean hasRead(ConversationParticipant participant, Message message) {
+        if (participant.getLastReadMessageId() != null) {
+            return participant.getLastReadMessageId() >= message.getMessageId();
+        }
+        // Participants who have not read since watermarks were introduced only have a timestamp
+        return participant.getLastReadAt() != null && message.getCreatedAt() != null
+                && !participant.getLastReadAt().isBefore(message.getCreatedAt());
+    }
+
+    private MessageResponse.UserSummary toUserSummary(User user) {
+        MessageResponse.UserSummary summary = new MessageResponse.UserSummary();
+        summary.setUserId(user.getUserId());
+        summary.setName(user.getName());
+        summary.setEmail(user.getEmail());
+        return summary;
+    }
 }
@@ -77,7 +77,7 @@ public class ChatSystemValidator implements CommandLineRunner {
             
             // Test 6: Mark as read
             log.info("📝 Test 6: Marking as read...");
-            chatService.markAsRead(conversation.getConversationId(), user2.getUserId());
+            chatService.markAsRead(conversation.getConversationId(), user2.getUserId(), null);
             log.info("✅ Marked as read");
             
             log.info("🎉 All tests passed! Chat system is working correctly.");
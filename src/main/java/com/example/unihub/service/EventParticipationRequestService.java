@@ -103,6 +103,7 @@ public class EventParticipationRequestService {
         participant.setRole(request.getRequestedRole());
         participant.setPointsAwarded(points);
         participantRepository.save(participant);
+        eventRepository.adjustParticipantCount(event.getEventId(), 1);
 
         // Update request
         request.setStatus(RequestStatus.APPROVED);
@@ -90,6 +90,7 @@ public class EventRequestService {
         participant.setRole(role);
         participant.setPointsAwarded(points);
         participantRepository.save(participant);
+        eventRepository.adjustParticipantCount(event.getEventId(), 1);
 
         // Award points
         gamificationService.awardPoints(user, points, "EVENT", event.getEventId(),
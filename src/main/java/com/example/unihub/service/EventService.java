@@ -1,6 +1,7 @@
 package com.example.unihub.service;
 
 import com.example.unihub.dto.request.CreateEventRequest;
+import com.example.unihub.dto.response.EventSummary;
 import com.example.unihub.enums.EventStatus;
 import com.example.unihub.enums.NotificationType;
 import com.example.unihub.enums.ParticipantRole;
@@ -9,16 +10,25 @@ import com.example.unihub.model.*;
 import com.example.unihub.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EventService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final EventRepository eventRepository;
     private final EventParticipantRepository participantRepository;
     private final EventReportRepository eventReportRepository;
@@ -78,6 +88,7 @@ public class EventService {
                 participant.setRole(role);
                 participant.setPointsAwarded(0); // Creator doesn't get points initially, only after approval
                 participantRepository.save(participant);
+                eventRepository.adjustParticipantCount(savedEvent.getEventId(), 1);
                 log.info("Creator {} added as {} to their own event", creator.getUserId(), role);
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid creator role: {}", request.getCreatorRole());
@@ -168,6 +179,22 @@ public class EventService {
         return events;
     }
 
+    /**
+     * One page of the event feed (newest first), optionally continuing after {@code beforeEventId}.
+     * Null filters are ignored; the date range applies to the start date. The page size is capped at 100.
+     */
+    public Slice<EventSummary> getEventFeed(Long universityId, EventStatus status, String type,
+                                            LocalDateTime from, LocalDateTime to, Long beforeEventId, int size) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)));
+        if (beforeEventId == null) {
+            return eventRepository.findFeed(universityId, status, type, from, to, pageable);
+        }
+        LocalDateTime cursorCreatedAt = eventRepository.findCreatedAtById(beforeEventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", beforeEventId));
+        return eventRepository.findFeedBefore(universityId, status, type, from, to,
+                cursorCreatedAt, beforeEventId, pageable);
+    }
+
     /**
      * Get event by ID
      */
@@ -225,6 +252,7 @@ public class EventService {
         participant.setRole(role);
         participant.setPointsAwarded(points);
         participantRepository.save(participant);
+        eventRepository.adjustParticipantCount(eventId, 1);
 
         // Award EVENT_PARTICIPATION points
         gamificationService.awardPoints(
@@ -257,6 +285,7 @@ public class EventService {
         int pointsAwarded = participant.getPointsAwarded() != null ? participant.getPointsAwarded() : 0;
         int penalty = pointsAwarded * 2;
         participantRepository.delete(participant);
+        eventRepository.adjustParticipantCount(eventId, -1);
 
         // Deduct points through gamification service (only if penalty > 0)
         if (penalty > 0) {
@@ -428,11 +457,18 @@ public class EventService {
     }
 
     private void applyReportCounts(List<Event> events) {
-        if (events == null) {
+        if (events == null || events.isEmpty()) {
             return;
         }
+        List<Long> eventIds = events.stream().map(Event::getEventId).filter(Objects::nonNull).toList();
+        Map<Long, Long> counts = new HashMap<>();
+        if (!eventIds.isEmpty()) {
+            for (Object[] row : eventReportRepository.countByEventIds(eventIds)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
         for (Event event : events) {
-            applyReportCount(event);
+            event.setReportCount(counts.getOrDefault(event.getEventId(), 0L));
         }
     }
 
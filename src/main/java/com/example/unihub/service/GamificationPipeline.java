@@ -0,0 +1,174 @@
+package com.example.unihub.service;
+
+import com.example.unihub.model.PendingPointsChange;
+import com.example.unihub.repository.PendingPointsChangeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies points changes from the pending_points_changes outbox on a dedicated worker
+ * thread. Actions write their change to the outbox in their own transaction, so a change
+ * is kept exactly when the action commits and survives crashes and restarts; the worker
+ * drains whatever is left on startup. Each batch is grouped by user and every user's
+ * changes are applied, and their outbox rows deleted, in one transaction, so the points
+ * update, ledger inserts, badge check and WebSocket pushes stay off the request path.
+ * <p>
+ * The worker is woken after each commit and otherwise polls, which also picks up rows
+ * written on other nodes. A user's batch that keeps failing is retried a few times and
+ * then marked failed in the outbox, where admins can replay it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GamificationPipeline {
+
+    private final GamificationService gamificationService;
+    private final PendingPointsChangeRepository pendingPointsChangeRepository;
+
+    @Value("${app.gamification.pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.gamification.pipeline.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.gamification.pipeline.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.gamification.pipeline.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "gamification-worker");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Gamification worker started (batch size {}, {} failed changes waiting for replay)",
+                batchSize, pendingPointsChangeRepository.countByFailedTrue());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Changes not applied yet stay in the outbox for the next start
+    }
+
+    /**
+     * Signal that new changes were committed to the outbox
+     */
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                // A full batch means more may be waiting; otherwise sleep until woken or the poll interval passes
+                if (processBatch() < batchSize) {
+                    wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Gamification worker failed to process batch", e);
+                if (!sleep(pollIntervalMs)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply the oldest batch of pending changes, returning how many were read
+     */
+    int processBatch() {
+        List<PendingPointsChange> batch = pendingPointsChangeRepository
+                .findByFailedFalseOrderByPendingPointsChangeIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Keep each user's changes in the order they were made
+        Map<Long, List<PendingPointsChange>> byUser = new LinkedHashMap<>();
+        for (PendingPointsChange change : batch) {
+            byUser.computeIfAbsent(change.getUserId(), id -> new ArrayList<>()).add(change);
+        }
+
+        byUser.forEach(this::applyWithRetry);
+        log.debug("Processed {} points changes for {} users", batch.size(), byUser.size());
+        return batch.size();
+    }
+
+    /**
+     * Put every failed change back in line for the worker
+     */
+    public int replayFailed() {
+        int replayed = pendingPointsChangeRepository.resetFailed();
+        log.info("Replaying {} failed points changes", replayed);
+        wakeUp();
+        return replayed;
+    }
+
+    private void applyWithRetry(Long userId, List<PendingPointsChange> changes) {
+        Exception failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                gamificationService.applyPendingChanges(userId, changes);
+                return;
+            } catch (Exception e) {
+                failure = e;
+                log.warn("Attempt {} of {} to apply {} points changes for user {} failed",
+                        attempt, maxAttempts, changes.size(), userId, e);
+                if (attempt < maxAttempts && !sleep(retryDelayMs(attempt))) {
+                    break;
+                }
+            }
+        }
+        // A failed attempt rolled back, so the rows are still there to mark
+        List<Long> ids = changes.stream().map(PendingPointsChange::getPendingPointsChangeId).toList();
+        pendingPointsChangeRepository.markFailed(ids, String.valueOf(failure));
+        log.error("Marked {} points changes for user {} as failed", ids.size(), userId);
+    }
+
+    // Linear backoff between attempts
+    long retryDelayMs(int attempt) {
+        return retryBackoffMs * attempt;
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
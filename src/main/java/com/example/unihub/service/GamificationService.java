@@ -1,17 +1,24 @@
 package com.example.unihub.service;
 
 import com.example.unihub.enums.NotificationType;
+import com.example.unihub.event.PointsChangeEvent;
 import com.example.unihub.model.*;
 import com.example.unihub.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,69 +27,89 @@ public class GamificationService {
 
     private final UserRepository userRepository;
     private final PointsLogRepository pointsLogRepository;
-    private final BadgeRepository badgeRepository;
+    private final BadgeLadderService badgeLadderService;
     private final UserBadgeRepository userBadgeRepository;
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final LeaderboardIndex leaderboardIndex;
+    private final WindowedLeaderboardIndex windowedLeaderboardIndex;
+    private final PendingPointsChangeRepository pendingPointsChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Award points to a user and check for badge promotion
+     * Award points to a user. Recorded in the caller's transaction and applied by the gamification worker.
      */
-    @Transactional
     public void awardPoints(User user, int points, String sourceType, Long sourceId, String description) {
-        log.info("Awarding {} points to user {} from source {}", points, user.getUserId(), sourceType);
-        
-        // 1. Update user points
-        int oldPoints = user.getPoints();
-        user.setPoints(oldPoints + points);
-        userRepository.save(user);
-        
-        // 2. Create points log entry
-        PointsLog pointsLog = new PointsLog();
-        pointsLog.setUser(user);
-        pointsLog.setSourceType(sourceType);
-        pointsLog.setSourceId(sourceId);
-        pointsLog.setPoints(points);
-        pointsLog.setDescription(description);
-        pointsLogRepository.save(pointsLog);
-        
-        // 3. Check for badge promotion
-        checkAndPromoteBadge(user);
-        
-        // 4. Send WebSocket update for leaderboard
-        sendLeaderboardUpdate();
-        // 5. Send dashboard update for instant UI refresh
-        sendDashboardUpdate(user.getUserId());
+        log.info("Queueing award of {} points to user {} from source {}", points, user.getUserId(), sourceType);
+        publishPointsChange(user, points, sourceType, sourceId, description);
     }
 
     /**
-     * Deduct points from a user (for penalties)
+     * Deduct points from a user (for penalties). Recorded in the caller's transaction and applied by the gamification worker.
      */
-    @Transactional
     public void deductPoints(User user, int points, String sourceType, Long sourceId, String description) {
-        log.info("Deducting {} points from user {} for source {}", points, user.getUserId(), sourceType);
-        
-        // 1. Update user points (ensure not negative)
-        int oldPoints = user.getPoints();
-        user.setPoints(Math.max(0, oldPoints - points));
-        userRepository.save(user);
-        
-        // 2. Create negative points log entry
-        PointsLog pointsLog = new PointsLog();
-        pointsLog.setUser(user);
-        pointsLog.setSourceType(sourceType);
-        pointsLog.setSourceId(sourceId);
-        pointsLog.setPoints(-points); // Negative value
-        pointsLog.setDescription(description);
-        pointsLogRepository.save(pointsLog);
-        
-        // 3. Check for badge demotion
-        checkAndDemoteBadge(user);
-        
-        // 4. Send WebSocket update for leaderboard
-        sendLeaderboardUpdate();
-        // 5. Send dashboard update for instant UI refresh
-        sendDashboardUpdate(user.getUserId());
+        log.info("Queueing deduction of {} points from user {} for source {}", points, user.getUserId(), sourceType);
+        publishPointsChange(user, -points, sourceType, sourceId, description);
+    }
+
+    /**
+     * Apply one user's pending points changes in a single transaction. The outbox rows are
+     * deleted in the same transaction, so each change is applied exactly once: a failed attempt
+     * leaves them in place, and a concurrent worker only gets the rows it claimed first.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyPendingChanges(Long userId, List<PendingPointsChange> changes) {
+        Set<Long> claimed = new HashSet<>(pendingPointsChangeRepository.claim(
+                changes.stream().map(PendingPointsChange::getPendingPointsChangeId).toList()));
+        if (claimed.isEmpty()) {
+            return;
+        }
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            log.warn("Dropping {} points changes for deleted user {}", claimed.size(), userId);
+            return;
+        }
+
+        Set<LocalDate> changedDays = new HashSet<>();
+        for (PendingPointsChange change : changes) {
+            if (!claimed.contains(change.getPendingPointsChangeId())) {
+                continue;
+            }
+
+            // 1. Update user points atomically (deductions clamped at zero) and carry the new total on the entity
+            Integer newPoints = change.getPoints() >= 0
+                    ? userRepository.addPoints(userId, change.getPoints())
+                    : userRepository.deductPoints(userId, -change.getPoints());
+            user.setPoints(requireUpdated(newPoints));
+
+            // 2. Create points log entry, stamped with the time of the action
+            PointsLog pointsLog = new PointsLog();
+            pointsLog.setUser(user);
+            pointsLog.setSourceType(change.getSourceType());
+            pointsLog.setSourceId(change.getSourceId());
+            pointsLog.setPoints(change.getPoints()); // Negative for deductions
+            pointsLog.setDescription(change.getDescription());
+            pointsLog.setCreatedAt(change.getOccurredAt());
+            pointsLogRepository.save(pointsLog);
+            changedDays.add(change.getOccurredAt().toLocalDate());
+        }
+
+        if (changedDays.isEmpty()) {
+            return;
+        }
+        changedDays.forEach(day -> windowedLeaderboardIndex.record(userId, day));
+        leaderboardIndex.update(user);
+
+        // 3. One badge check against the final total
+        Badge currentBadge = user.getCurrentBadge();
+        if (currentBadge != null && user.getPoints() < currentBadge.getPointsThreshold()) {
+            checkAndDemoteBadge(user);
+        } else {
+            checkAndPromoteBadge(user);
+        }
+
+        // 4. Send dashboard update for instant UI refresh (the leaderboard diff follows from the index update)
+        sendDashboardUpdate(userId);
     }
 
     /**
@@ -91,9 +118,7 @@ public class GamificationService {
     @Transactional
     public void checkAndPromoteBadge(User user) {
         // Find the highest badge user qualifies for based on current points
-        Badge newBadge = badgeRepository
-            .findTopByPointsThresholdLessThanEqualOrderByPointsThresholdDesc(user.getPoints())
-            .orElse(null);
+        Badge newBadge = badgeLadderService.resolve(user.getPoints()).orElse(null);
         
         if (newBadge == null) {
             return; // No badge qualifies
@@ -108,9 +133,9 @@ public class GamificationService {
                 currentBadge != null ? currentBadge.getName() : "none", 
                 newBadge.getName());
             
-            // Update user's current badge
+            // Update only the badge column; saving the entity would rewrite the whole row
+            userRepository.setCurrentBadge(user.getUserId(), newBadge);
             user.setCurrentBadge(newBadge);
-            userRepository.save(user);
             
             // Record badge in user_badges history (if not already recorded)
             if (!userBadgeRepository.existsByUserUserIdAndBadgeBadgeId(user.getUserId(), newBadge.getBadgeId())) {
@@ -149,9 +174,7 @@ public class GamificationService {
         // If user's points dropped below current badge threshold
         if (user.getPoints() < currentBadge.getPointsThreshold()) {
             // Find the highest badge user now qualifies for
-            Badge newBadge = badgeRepository
-                .findTopByPointsThresholdLessThanEqualOrderByPointsThresholdDesc(user.getPoints())
-                .orElse(null);
+            Badge newBadge = badgeLadderService.resolve(user.getPoints()).orElse(null);
             
             if (newBadge == null || !newBadge.getBadgeId().equals(currentBadge.getBadgeId())) {
                 log.info("Demoting user {} from badge {} to badge {}", 
@@ -159,8 +182,8 @@ public class GamificationService {
                     currentBadge.getName(), 
                     newBadge != null ? newBadge.getName() : "none");
                 
+                userRepository.setCurrentBadge(user.getUserId(), newBadge);
                 user.setCurrentBadge(newBadge);
-                userRepository.save(user);
                 
                 // Notify user of demotion
                 Notification notification = new Notification();
@@ -174,6 +197,27 @@ public class GamificationService {
         }
     }
 
+    private void publishPointsChange(User user, int points, String sourceType, Long sourceId, String description) {
+        // Written in the caller's transaction, so the change is kept exactly when the action commits
+        PendingPointsChange change = new PendingPointsChange();
+        change.setUserId(user.getUserId());
+        change.setPoints(points);
+        change.setSourceType(sourceType);
+        change.setSourceId(sourceId);
+        change.setDescription(description);
+        change.setOccurredAt(LocalDateTime.now());
+        pendingPointsChangeRepository.save(change);
+        eventPublisher.publishEvent(new PointsChangeEvent(user.getUserId()));
+    }
+
+    // The RETURNING update yields no row when the user does not exist
+    private int requireUpdated(Integer newPoints) {
+        if (newPoints == null) {
+            throw new RuntimeException("User not found");
+        }
+        return newPoints;
+    }
+
     /**
      * Send badge promotion notification via WebSocket for instant pop-up
      */
@@ -190,18 +234,6 @@ public class GamificationService {
         log.info("Sent badge promotion WebSocket message to user {}", userId);
     }
 
-    /**
-     * Send leaderboard update notification via WebSocket
-     */
-    public void sendLeaderboardUpdate() {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", "LEADERBOARD_UPDATE");
-        payload.put("timestamp", LocalDateTime.now());
-        
-        messagingTemplate.convertAndSend("/topic/leaderboard-update", payload);
-        log.debug("Sent leaderboard update WebSocket message");
-    }
-
     /**
      * Send dashboard update notification via WebSocket
      */
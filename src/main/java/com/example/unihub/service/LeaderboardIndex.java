@@ -0,0 +1,334 @@
+package com.example.unihub.service;
+
+import com.example.unihub.model.User;
+import com.example.unihub.repository.UserRepository;
+import com.example.unihub.util.OrderStatisticTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory member ranking, one order-statistic tree for the global scope and one per
+ * university. Rank, top-N and neighbor lookups are O(log n) instead of loading every
+ * user. Built from the database on startup and updated after each committed point or
+ * membership change. Each change also records the range of ranks it shifted, which
+ * {@link LeaderboardUpdatePublisher} drains to push diffs.
+ * <p>
+ * Updates apply the values the caller committed (points as returned by the atomic update
+ * in UserRepository) without another query. A rebuild reads the table and builds new
+ * trees outside the lock and only swaps them in under it; changes applied meanwhile are
+ * replayed onto the new trees first. The index only sees changes committed on this node;
+ * with several instances, or if two callbacks for one user ran out of order, it converges
+ * on the periodic resync ({@code app.leaderboard.resync-cron}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardIndex {
+
+    // Highest points first, ties broken by user id so ranks are stable
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingInt(Ranked::points).reversed()
+            .thenComparingLong(Ranked::userId);
+
+    private final UserRepository userRepository;
+
+    private Scopes scopes = new Scopes();
+    // Ranks shifted since the last drain, per scope (null key = global)
+    private final Map<Long, RankRange> changedRanges = new HashMap<>();
+    // Changes applied while a rebuild reads the table (null value = removed), replayed before the swap
+    private Map<Long, Ranked> appliedDuringRebuild;
+    // One rebuild at a time; updates and reads never wait on it
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Reload the whole index from the users table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Before WindowedLeaderboardIndex, which reads universities from here
+    public void rebuild() {
+        int size;
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                appliedDuringRebuild = new HashMap<>();
+            }
+            Scopes rebuilt = new Scopes();
+            try {
+                for (Object[] row : userRepository.findLeaderboardRows()) {
+                    rebuilt.put(toRanked(row));
+                }
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    appliedDuringRebuild = null;
+                }
+                throw ex;
+            }
+            synchronized (this) {
+                appliedDuringRebuild.forEach((userId, ranked) -> {
+                    if (ranked == null) {
+                        rebuilt.remove(userId);
+                    } else {
+                        rebuilt.put(ranked);
+                    }
+                });
+                appliedDuringRebuild = null;
+                scopes = rebuilt;
+                size = rebuilt.members.size();
+            }
+        }
+        log.info("Leaderboard index built with {} members", size);
+    }
+
+    @Scheduled(cron = "${app.leaderboard.resync-cron:0 */10 * * * ?}") // Run every 10 minutes by default
+    public void resync() {
+        rebuild();
+    }
+
+    /**
+     * Apply the user's points and university once the surrounding transaction commits
+     */
+    public void update(User user) {
+        Long universityId = user.getUniversity() != null ? user.getUniversity().getUniversityId() : null;
+        Ranked ranked = new Ranked(user.getUserId(), user.getPoints() != null ? user.getPoints() : 0, universityId);
+        afterCommit(() -> apply(ranked));
+    }
+
+    /**
+     * Drop the user once the surrounding transaction commits
+     */
+    public void remove(Long userId) {
+        afterCommit(() -> detach(userId));
+    }
+
+    /**
+     * 1-based rank of the user in the scope (null universityId = global), or -1 if not ranked there
+     */
+    public synchronized int getRank(Long userId, Long universityId) {
+        Ranked ranked = scopes.members.get(userId);
+        OrderStatisticTree<Ranked> tree = tree(universityId);
+        if (ranked == null || tree == null) {
+            return -1;
+        }
+        int index = tree.indexOf(ranked);
+        return index < 0 ? -1 : index + 1;
+    }
+
+    /**
+     * Current points and ranks of the user, or empty if they are not in the index
+     */
+    public synchronized Optional<Standing> getStanding(Long userId) {
+        Ranked ranked = scopes.members.get(userId);
+        if (ranked == null) {
+            return Optional.empty();
+        }
+        Integer universityRank = ranked.universityId() != null ? getRank(userId, ranked.universityId()) : null;
+        return Optional.of(new Standing(userId, ranked.points(), ranked.universityId(), getRank(userId, null), universityRank));
+    }
+
+    public synchronized List<Long> getTopUserIds(Long universityId, int limit) {
+        return getUserIds(universityId, 0, limit);
+    }
+
+    /**
+     * User ids ranked in [offset, offset + limit) of the scope
+     */
+    public synchronized List<Long> getUserIds(Long universityId, int offset, int limit) {
+        OrderStatisticTree<Ranked> tree = tree(universityId);
+        if (tree == null) {
+            return new ArrayList<>();
+        }
+        return tree.range(offset, offset + limit).stream().map(Ranked::userId).toList();
+    }
+
+    /**
+     * The user plus up to {@code radius} members ranked directly above and below them
+     */
+    public synchronized List<Long> getNeighborUserIds(Long userId, Long universityId, int radius) {
+        int rank = getRank(userId, universityId);
+        if (rank < 0) {
+            return new ArrayList<>();
+        }
+        return getUserIds(universityId, rank - 1 - radius, 2 * radius + 1);
+    }
+
+    /**
+     * Ranked entries in [offset, offset + limit) of the scope
+     */
+    public synchronized List<RankedEntry> getEntries(Long universityId, int offset, int limit) {
+        OrderStatisticTree<Ranked> tree = tree(universityId);
+        if (tree == null) {
+            return new ArrayList<>();
+        }
+        int start = Math.max(0, offset);
+        List<Ranked> range = tree.range(start, start + limit);
+        List<RankedEntry> entries = new ArrayList<>(range.size());
+        for (int i = 0; i < range.size(); i++) {
+            entries.add(new RankedEntry(range.get(i).userId(), range.get(i).points(), start + i + 1));
+        }
+        return entries;
+    }
+
+    /**
+     * Rank ranges shifted since the previous call, per scope (null key = global)
+     */
+    public synchronized Map<Long, RankRange> drainChanges() {
+        Map<Long, RankRange> changes = new HashMap<>(changedRanges);
+        changedRanges.clear();
+        return changes;
+    }
+
+    public synchronized int size(Long universityId) {
+        OrderStatisticTree<Ranked> tree = tree(universityId);
+        return tree == null ? 0 : tree.size();
+    }
+
+    private OrderStatisticTree<Ranked> tree(Long universityId) {
+        return universityId == null ? scopes.global : scopes.byUniversity.get(universityId);
+    }
+
+    private OrderStatisticTree<Ranked> universityTree(Long universityId) {
+        return scopes.universityTree(universityId);
+    }
+
+    private static Ranked toRanked(Object[] row) {
+        return new Ranked((Long) row[0], row[1] != null ? (Integer) row[1] : 0, (Long) row[2]);
+    }
+
+    private synchronized void apply(Ranked ranked) {
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.put(ranked.userId(), ranked);
+        }
+        Ranked previous = scopes.members.put(ranked.userId(), ranked);
+        if (ranked.equals(previous)) {
+            return;
+        }
+        move(null, scopes.global, previous, ranked);
+        Long previousUniversityId = previous != null ? previous.universityId() : null;
+        if (Objects.equals(previousUniversityId, ranked.universityId())) {
+            if (previousUniversityId != null) {
+                move(previousUniversityId, universityTree(previousUniversityId), previous, ranked);
+            }
+            return;
+        }
+        if (previousUniversityId != null) {
+            move(previousUniversityId, universityTree(previousUniversityId), previous, null);
+        }
+        if (ranked.universityId() != null) {
+            move(ranked.universityId(), universityTree(ranked.universityId()), null, ranked);
+        }
+    }
+
+    private synchronized void detach(Long userId) {
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.put(userId, null);
+        }
+        Ranked previous = scopes.members.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        move(null, scopes.global, previous, null);
+        if (previous.universityId() != null) {
+            move(previous.universityId(), universityTree(previous.universityId()), previous, null);
+        }
+    }
+
+    /**
+     * Replace {@code previous} with {@code next} in the tree (either may be null) and record
+     * the ranks that shifted: everything between the old and new position for a move, and
+     * everything below the position for an insert or removal.
+     */
+    private void move(Long universityId, OrderStatisticTree<Ranked> tree, Ranked previous, Ranked next) {
+        int from = previous != null ? tree.indexOf(previous) : -1;
+        if (previous != null) {
+            tree.remove(previous);
+        }
+        if (next != null) {
+            tree.add(next);
+        }
+        int to = next != null ? tree.indexOf(next) : -1;
+
+        int low = from < 0 ? to : to < 0 ? from : Math.min(from, to);
+        int high = from >= 0 && to >= 0 ? Math.max(from, to) : tree.size() - 1;
+        if (low >= 0 && low <= high) {
+            changedRanges.merge(universityId, new RankRange(low + 1, high + 1), RankRange::union);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 1-based ranks, both ends inclusive
+     */
+    public record RankRange(int from, int to) {
+
+        public RankRange union(RankRange other) {
+            return new RankRange(Math.min(from, other.from), Math.max(to, other.to));
+        }
+
+        public int size() {
+            return to - from + 1;
+        }
+    }
+
+    public record RankedEntry(Long userId, int points, int rank) {
+    }
+
+    public record Standing(Long userId, int points, Long universityId, int globalRank, Integer universityRank) {
+    }
+
+    private record Ranked(long userId, int points, Long universityId) {
+    }
+
+    // The trees and member lookup for every scope, swapped as a whole on rebuild
+    private static final class Scopes {
+        private final OrderStatisticTree<Ranked> global = new OrderStatisticTree<>(ORDER);
+        private final Map<Long, OrderStatisticTree<Ranked>> byUniversity = new HashMap<>();
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        private OrderStatisticTree<Ranked> universityTree(Long universityId) {
+            return byUniversity.computeIfAbsent(universityId, id -> new OrderStatisticTree<>(ORDER));
+        }
+
+        // Insert or replace without change tracking (used to build a new index)
+        private void put(Ranked ranked) {
+            remove(ranked.userId());
+            members.put(ranked.userId(), ranked);
+            global.add(ranked);
+            if (ranked.universityId() != null) {
+                universityTree(ranked.universityId()).add(ranked);
+            }
+        }
+
+        private void remove(Long userId) {
+            Ranked previous = members.remove(userId);
+            if (previous == null) {
+                return;
+            }
+            global.remove(previous);
+            OrderStatisticTree<Ranked> tree = byUniversity.get(previous.universityId());
+            if (tree != null) {
+                tree.remove(previous);
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.unihub.service;
 
-import com.example.unihub.model.Event;
-import com.example.unihub.model.User;
+import com.example.unihub.dto.response.EventSummary;
+import com.example.unihub.dto.response.LeaderboardEntry;
+import com.example.unihub.enums.LeaderboardWindow;
 import com.example.unihub.repository.EventRepository;
 import com.example.unihub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -17,71 +23,186 @@ public class LeaderboardService {
 
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final LeaderboardIndex leaderboardIndex;
+    private final WindowedLeaderboardIndex windowedLeaderboardIndex;
 
     /**
-     * Get members leaderboard (ranked by points)
+     * Get one page of the members leaderboard (ranked by points). The page is cut from the
+     * in-memory index and only its members are loaded, so deep pages cost the same as the first.
      * @param scope UNIVERSITY or GLOBAL
      * @param universityId Required if scope is UNIVERSITY
      */
-    public List<User> getMembersLeaderboard(String scope, Long universityId) {
-        log.info("Getting members leaderboard - Scope: {}, UniversityId: {}", scope, universityId);
+    public List<LeaderboardEntry> getMembersLeaderboard(String scope, Long universityId, int page, int size) {
+        log.info("Getting members leaderboard - Scope: {}, UniversityId: {}, Page: {}", scope, universityId, page);
         
-        if ("UNIVERSITY".equalsIgnoreCase(scope)) {
-            if (universityId == null) {
-                throw new IllegalArgumentException("University ID is required for UNIVERSITY scope");
+        Long scopeUniversityId = resolveScope(scope, universityId);
+        List<LeaderboardIndex.RankedEntry> ranked = leaderboardIndex.getEntries(scopeUniversityId, offset(page, size), size);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LeaderboardEntry> entriesById = userRepository.findLeaderboardEntriesByIds(
+                        ranked.stream().map(LeaderboardIndex.RankedEntry::userId).toList()).stream()
+                .collect(Collectors.toMap(LeaderboardEntry::getUserId, e -> e));
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (LeaderboardIndex.RankedEntry r : ranked) {
+            LeaderboardEntry entry = entriesById.get(r.userId());
+            if (entry != null) {
+                // Rank and points from the same index snapshot, so the page is consistent
+                entry.setRank(r.rank());
+                entry.setPoints(r.points());
+                entries.add(entry);
             }
-            return userRepository.findByUniversityUniversityIdOrderByPointsDesc(universityId);
-        } else {
-            // GLOBAL scope
-            return userRepository.findAllByOrderByPointsDesc();
         }
+        return entries;
+    }
+
+    /**
+     * Get the members ranked around a user: the user plus up to {@code radius} above and below
+     */
+    public List<LeaderboardEntry> getMembersWindow(String scope, Long universityId, Long userId, int radius) {
+        Long scopeUniversityId = resolveScope(scope, universityId);
+        int rank = leaderboardIndex.getRank(userId, scopeUniversityId);
+        if (rank < 0) {
+            return List.of();
+        }
+        List<Long> userIds = leaderboardIndex.getNeighborUserIds(userId, scopeUniversityId, radius);
+        return loadInRankOrder(userIds, Math.max(1, rank - radius));
+    }
+
+    /**
+     * Total number of ranked members in the scope
+     */
+    public int countMembers(String scope, Long universityId) {
+        return leaderboardIndex.size(resolveScope(scope, universityId));
+    }
+
+    /**
+     * Get one page of a rolling-window members leaderboard, ranked by points earned in the window.
+     * The returned points are the window totals.
+     */
+    public List<LeaderboardEntry> getWindowedMembersLeaderboard(LeaderboardWindow window, String scope, Long universityId,
+                                                                int page, int size) {
+        log.info("Getting {} members leaderboard - Scope: {}, UniversityId: {}, Page: {}", window, scope, universityId, page);
+        
+        Long scopeUniversityId = resolveScope(scope, universityId);
+        int offset = offset(page, size);
+        return loadWindowed(windowedLeaderboardIndex.getRange(window, scopeUniversityId, offset, size), offset + 1);
+    }
+
+    /**
+     * Get the members ranked around a user in a rolling-window leaderboard
+     */
+    public List<LeaderboardEntry> getWindowedMembersWindow(LeaderboardWindow window, String scope, Long universityId,
+                                                           Long userId, int radius) {
+        Long scopeUniversityId = resolveScope(scope, universityId);
+        int rank = windowedLeaderboardIndex.getRank(window, userId, scopeUniversityId);
+        if (rank < 0) {
+            return List.of();
+        }
+        int offset = Math.max(0, rank - 1 - radius);
+        return loadWindowed(windowedLeaderboardIndex.getRange(window, scopeUniversityId, offset, 2 * radius + 1), offset + 1);
     }
 
     /**
-     * Get events leaderboard (ranked by participant count)
+     * Number of members with points in the window and scope
+     */
+    public int countWindowedMembers(LeaderboardWindow window, String scope, Long universityId) {
+        return windowedLeaderboardIndex.size(window, resolveScope(scope, universityId));
+    }
+
+    /**
+     * Parse a window name; null or ALL_TIME means the lifetime leaderboard
+     */
+    public LeaderboardWindow resolveWindow(String window) {
+        if (window == null || "ALL_TIME".equalsIgnoreCase(window)) {
+            return null;
+        }
+        try {
+            return LeaderboardWindow.valueOf(window.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid leaderboard window. Use WEEK, MONTH, SEMESTER or ALL_TIME");
+        }
+    }
+
+    /**
+     * Get one page of the events leaderboard (ranked by participant count)
      * @param scope UNIVERSITY or GLOBAL
      * @param universityId Required if scope is UNIVERSITY
      */
-    public List<Event> getEventsLeaderboard(String scope, Long universityId) {
-        log.info("Getting events leaderboard - Scope: {}, UniversityId: {}", scope, universityId);
+    public List<EventSummary> getEventsLeaderboard(String scope, Long universityId, int page, int size) {
+        log.info("Getting events leaderboard - Scope: {}, UniversityId: {}, Page: {}", scope, universityId, page);
         
-        if ("UNIVERSITY".equalsIgnoreCase(scope)) {
-            if (universityId == null) {
-                throw new IllegalArgumentException("University ID is required for UNIVERSITY scope");
-            }
-            return eventRepository.findTopEventsByParticipantsCountForUniversity(universityId);
+        Long scopeUniversityId = resolveScope(scope, universityId);
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (scopeUniversityId != null) {
+            return eventRepository.findTopEventSummariesForUniversity(scopeUniversityId, pageRequest);
         } else {
             // GLOBAL scope
-            return eventRepository.findTopEventsByParticipantsCount();
+            return eventRepository.findTopEventSummaries(pageRequest);
         }
     }
 
     /**
      * Get top N members from leaderboard
      */
-    public List<User> getTopMembers(String scope, Long universityId, int limit) {
-        List<User> leaderboard = getMembersLeaderboard(scope, universityId);
-        return leaderboard.stream().limit(limit).toList();
+    public List<LeaderboardEntry> getTopMembers(String scope, Long universityId, int limit) {
+        return getMembersLeaderboard(scope, universityId, 0, limit);
     }
 
     /**
      * Get top N events from leaderboard
      */
-    public List<Event> getTopEvents(String scope, Long universityId, int limit) {
-        List<Event> leaderboard = getEventsLeaderboard(scope, universityId);
-        return leaderboard.stream().limit(limit).toList();
+    public List<EventSummary> getTopEvents(String scope, Long universityId, int limit) {
+        return getEventsLeaderboard(scope, universityId, 0, limit);
     }
 
     /**
      * Get user's rank in leaderboard
      */
     public int getUserRank(Long userId, String scope, Long universityId) {
-        List<User> leaderboard = getMembersLeaderboard(scope, universityId);
-        for (int i = 0; i < leaderboard.size(); i++) {
-            if (leaderboard.get(i).getUserId().equals(userId)) {
-                return i + 1; // Rank starts from 1
+        return leaderboardIndex.getRank(userId, resolveScope(scope, universityId)); // -1 if not ranked
+    }
+
+    /**
+     * University to look up, or null for the global ranking
+     */
+    private Long resolveScope(String scope, Long universityId) {
+        if ("UNIVERSITY".equalsIgnoreCase(scope)) {
+            if (universityId == null) {
+                throw new IllegalArgumentException("University ID is required for UNIVERSITY scope");
+            }
+            return universityId;
+        }
+        return null;
+    }
+
+    private static int offset(int page, int size) {
+        return (int) Math.min((long) page * size, Integer.MAX_VALUE);
+    }
+
+    private List<LeaderboardEntry> loadInRankOrder(List<Long> userIds, int firstRank) {
+        Map<Long, LeaderboardEntry> entriesById = userRepository.findLeaderboardEntriesByIds(userIds).stream()
+                .collect(Collectors.toMap(LeaderboardEntry::getUserId, e -> e));
+        List<LeaderboardEntry> entries = userIds.stream().map(entriesById::get).filter(Objects::nonNull).toList();
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).setRank(firstRank + i);
+        }
+        return entries;
+    }
+
+    private List<LeaderboardEntry> loadWindowed(List<long[]> ranked, int firstRank) {
+        List<Long> userIds = ranked.stream().map(r -> r[0]).toList();
+        Map<Long, LeaderboardEntry> entriesById = userRepository.findLeaderboardEntriesByIds(userIds).stream()
+                .collect(Collectors.toMap(LeaderboardEntry::getUserId, e -> e));
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (long[] r : ranked) {
+            LeaderboardEntry entry = entriesById.get(r[0]);
+            if (entry != null) {
+                entry.setRank(firstRank + entries.size());
+                entry.setPoints((int) r[1]);
+                entries.add(entry);
             }
         }
-        return -1; // User not found
+        return entries;
     }
 }
@@ -0,0 +1,75 @@
+package com.example.unihub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Coalesces leaderboard changes and publishes one diff per scope per window, instead of
+ * a bare refresh signal on every award or deduction. Each diff covers every rank that
+ * shifted since the last window, not only the users whose points changed; when that
+ * range is larger than {@code app.leaderboard.max-diff-entries} the diff is truncated
+ * and clients should refetch it. The global diff goes to /topic/leaderboard-update and
+ * each university's to /topic/leaderboard-update/university/{universityId}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardUpdatePublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LeaderboardIndex leaderboardIndex;
+
+    @Value("${app.leaderboard.max-diff-entries:100}")
+    private int maxDiffEntries;
+
+    @Scheduled(fixedDelayString = "${app.leaderboard.update-window-ms:2000}")
+    public void flush() {
+        // Ranges are recorded by the index when a committed change is applied, so nothing is read stale
+        Map<Long, LeaderboardIndex.RankRange> changes = leaderboardIndex.drainChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        changes.forEach((universityId, range) -> {
+            List<LeaderboardIndex.RankedEntry> entries = leaderboardIndex.getEntries(
+                    universityId, range.from() - 1, Math.min(range.size(), maxDiffEntries));
+            if (universityId == null) {
+                send("/topic/leaderboard-update", "GLOBAL", null, range, entries);
+            } else {
+                send("/topic/leaderboard-update/university/" + universityId, "UNIVERSITY", universityId, range, entries);
+            }
+        });
+        log.debug("Sent leaderboard diffs for {} scopes", changes.size());
+    }
+
+    private void send(String destination, String scope, Long universityId,
+                      LeaderboardIndex.RankRange range, List<LeaderboardIndex.RankedEntry> entries) {
+        List<Map<String, Object>> changes = new ArrayList<>(entries.size());
+        for (LeaderboardIndex.RankedEntry entry : entries) {
+            Map<String, Object> change = new HashMap<>();
+            change.put("userId", entry.userId());
+            change.put("points", entry.points());
+            change.put("rank", entry.rank());
+            changes.add(change);
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "LEADERBOARD_UPDATE");
+        payload.put("scope", scope);
+        payload.put("universityId", universityId);
+        payload.put("fromRank", range.from());
+        payload.put("toRank", range.to());
+        payload.put("truncated", range.size() > entries.size());
+        payload.put("changes", changes);
+        payload.put("timestamp", LocalDateTime.now());
+
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
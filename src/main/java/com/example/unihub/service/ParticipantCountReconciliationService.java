@@ -0,0 +1,30 @@
+package com.example.unihub.service;
+
+import com.example.unihub.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParticipantCountReconciliationService {
+
+    private final EventRepository eventRepository;
+
+    /**
+     * Backfill and fix event participant counters from the participants table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 45 3 * * ?") // Run daily at 3:45 AM
+    @Transactional
+    public void reconcileParticipantCounts() {
+        log.info("Reconciling event participant counters");
+        int corrected = eventRepository.reconcileParticipantCounts();
+        log.info("Corrected {} event participant counters", corrected);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.unihub.service;
+
+import com.example.unihub.dto.response.PointsSourceTotal;
+import com.example.unihub.dto.response.PointsTrendPoint;
+import com.example.unihub.repository.PointsDailySourceRollupRepository;
+import com.example.unihub.repository.PointsDailyUserRollupRepository;
+import com.example.unihub.repository.PointsLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the daily points rollups (per user and per source type) that back the points
+ * analytics, and applies the retention policy for raw points_log rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PointsRollupService {
+
+    private final PointsLogRepository pointsLogRepository;
+    private final PointsDailyUserRollupRepository userRollupRepository;
+    private final PointsDailySourceRollupRepository sourceRollupRepository;
+
+    // Days before the latest rolled-up day that are re-aggregated, to pick up late ledger rows
+    @Value("${app.gamification.rollup.lookback-days:2}")
+    private int lookbackDays;
+
+    // Raw ledger rows older than this are archived; 0 keeps them forever
+    @Value("${app.gamification.ledger.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.gamification.ledger.archive-enabled:true}")
+    private boolean archiveEnabled;
+
+    /**
+     * Re-aggregate recent days of the ledger into the rollup tables (full backfill on first run)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 * * * ?") // Run hourly at quarter past
+    @Transactional
+    public void refreshRollups() {
+        LocalDate latest = userRollupRepository.findLatestDate();
+        LocalDate from = latest != null ? latest.minusDays(lookbackDays) : LocalDate.of(1970, 1, 1);
+
+        userRollupRepository.deleteFromDate(from);
+        sourceRollupRepository.deleteFromDate(from);
+        int userRows = userRollupRepository.rollupFrom(from.atStartOfDay());
+        int sourceRows = sourceRollupRepository.rollupFrom(from.atStartOfDay());
+        log.info("Rolled up points ledger from {}: {} user rows, {} source rows", from, userRows, sourceRows);
+    }
+
+    /**
+     * Archive (or delete) raw ledger rows past the retention window
+     */
+    @Scheduled(cron = "0 30 4 * * ?") // Run daily at 4:30 AM
+    @Transactional
+    public void applyRetention() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        // Never drop rows that have not been rolled up yet
+        LocalDate latest = userRollupRepository.findLatestDate();
+        if (latest == null) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDate.now().minusMonths(retentionMonths).atStartOfDay();
+        LocalDateTime rolledUpThrough = latest.minusDays(lookbackDays).atStartOfDay();
+        if (rolledUpThrough.isBefore(cutoff)) {
+            cutoff = rolledUpThrough;
+        }
+
+        int removed = archiveEnabled
+                ? pointsLogRepository.archiveBefore(cutoff)
+                : pointsLogRepository.deleteBefore(cutoff);
+        log.info("{} {} points log rows older than {}", archiveEnabled ? "Archived" : "Deleted", removed, cutoff);
+    }
+
+    public List<PointsTrendPoint> getPointsTrend(Long universityId, LocalDate from, LocalDate to) {
+        return universityId != null
+                ? userRollupRepository.findTrendByUniversity(universityId, from, to)
+                : userRollupRepository.findTrend(from, to);
+    }
+
+    public List<PointsTrendPoint> getUserPointsTrend(Long userId, LocalDate from, LocalDate to) {
+        return userRollupRepository.findTrendByUser(userId, from, to);
+    }
+
+    public List<PointsSourceTotal> getTopSources(Long universityId, LocalDate from, LocalDate to, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, Math.max(1, limit));
+        return universityId != null
+                ? sourceRollupRepository.findTopSourcesByUniversity(universityId, from, to, pageRequest)
+                : sourceRollupRepository.findTopSources(from, to, pageRequest);
+    }
+}
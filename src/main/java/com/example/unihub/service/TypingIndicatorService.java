@@ -0,0 +1,109 @@
+package com.example.unihub.service;
+
+import com.example.unihub.dto.TypingIndicatorMessage;
+import com.example.unihub.dto.TypingStatusMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects typing events and publishes, per conversation and at most once per flush
+ * interval, the per-user start/stop changes since the last frame. Frames carry deltas
+ * rather than the full typer list because with a broker relay every node only sees the
+ * typing events of its own connections; clients merge the deltas from all nodes and
+ * expire typers after the TTL. A user who keeps typing is re-announced every half TTL,
+ * and typers that stop sending events are announced as stopped once the TTL passes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypingIndicatorService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.chat.typing.ttl-ms:5000}")
+    private long typingTtlMs;
+
+    // conversationId -> (userId -> typer) for events received by this node; inner maps are only touched inside compute()
+    private final Map<Long, Map<Long, ActiveTyper>> typersByConversation = new ConcurrentHashMap<>();
+    // conversationId -> (userId -> latest unpublished change)
+    private final Map<Long, Map<Long, TypingStatusMessage.Typer>> pendingChanges = new ConcurrentHashMap<>();
+
+    public void update(TypingIndicatorMessage message) {
+        Long conversationId = message.getConversationId();
+        Long userId = message.getUserId();
+        if (conversationId == null || userId == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (Boolean.TRUE.equals(message.getIsTyping())) {
+            typersByConversation.compute(conversationId, (id, typers) -> {
+                if (typers == null) {
+                    typers = new HashMap<>();
+                }
+                ActiveTyper previous = typers.get(userId);
+                long announcedAt = previous != null ? previous.announcedAt() : 0;
+                if (now - announcedAt >= typingTtlMs / 2) {
+                    queueChange(id, userId, message.getUserName(), true);
+                    announcedAt = now;
+                }
+                typers.put(userId, new ActiveTyper(message.getUserName(), now, announcedAt));
+                return typers;
+            });
+        } else {
+            typersByConversation.computeIfPresent(conversationId, (id, typers) -> {
+                ActiveTyper removed = typers.remove(userId);
+                if (removed != null) {
+                    queueChange(id, userId, removed.userName(), false);
+                }
+                return typers.isEmpty() ? null : typers;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.typing.flush-interval-ms:500}")
+    public void flush() {
+        long cutoff = System.currentTimeMillis() - typingTtlMs;
+        for (Long conversationId : new ArrayList<>(typersByConversation.keySet())) {
+            typersByConversation.computeIfPresent(conversationId, (id, typers) -> {
+                typers.entrySet().removeIf(entry -> {
+                    if (entry.getValue().lastSeenAt() >= cutoff) {
+                        return false;
+                    }
+                    queueChange(id, entry.getKey(), entry.getValue().userName(), false);
+                    return true;
+                });
+                return typers.isEmpty() ? null : typers;
+            });
+        }
+
+        for (Long conversationId : new ArrayList<>(pendingChanges.keySet())) {
+            Map<Long, TypingStatusMessage.Typer> changes = pendingChanges.remove(conversationId);
+            if (changes == null || changes.isEmpty()) {
+                continue;
+            }
+            messagingTemplate.convertAndSend("/topic/conversation/" + conversationId + "/typing",
+                    new TypingStatusMessage(conversationId, new ArrayList<>(changes.values()), typingTtlMs));
+        }
+    }
+
+    private void queueChange(Long conversationId, Long userId, String userName, boolean typing) {
+        pendingChanges.compute(conversationId, (id, changes) -> {
+            if (changes == null) {
+                changes = new HashMap<>();
+            }
+            changes.put(userId, new TypingStatusMessage.Typer(userId, userName, typing));
+            return changes;
+        });
+    }
+
+    private record ActiveTyper(String userName, long lastSeenAt, long announcedAt) {
+    }
+}
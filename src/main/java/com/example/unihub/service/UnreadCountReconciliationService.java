@@ -0,0 +1,31 @@
+package com.example.unihub.service;
+
+import com.example.unihub.repository.ConversationParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCountReconciliationService {
+
+    private final ConversationParticipantRepository participantRepository;
+
+    /**
+     * Backfill unread counters on startup (the column defaults to 0) and fix counters that
+     * drifted from the real count, e.g. after messages were deleted
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 3 * * ?") // Run daily at 3:30 AM
+    @Transactional
+    public void reconcileUnreadCounts() {
+        log.info("Reconciling conversation unread counters");
+        int corrected = participantRepository.reconcileUnreadCounts();
+        log.info("Corrected {} unread counters", corrected);
+    }
+}
@@ -7,11 +7,12 @@ import com.example.unihub.model.EmailVerificationToken;
 import com.example.unihub.model.University;
 import com.example.unihub.model.User;
 import com.example.unihub.model.UserBadge;
-import com.example.unihub.repository.BadgeRepository;
 import com.example.unihub.repository.EmailVerificationTokenRepository;
 import com.example.unihub.repository.UniversityRepository;
 import com.example.unihub.repository.UserBadgeRepository;
 import com.example.unihub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,10 +30,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserBadgeRepository userBadgeRepository;
-    private final BadgeRepository badgeRepository;
+    private final BadgeLadderService badgeLadderService;
     private final UniversityRepository universityRepository;
     private final EmailVerificationTokenRepository verificationTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LeaderboardIndex leaderboardIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Get user by ID
@@ -42,6 +47,17 @@ public class UserService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
+    /**
+     * Get user by ID, re-read from the database in case the row was changed outside JPA
+     * (e.g. a JDBC badge update) while the entity was already loaded in this persistence context
+     */
+    @Transactional
+    public User reloadUser(Long userId) {
+        User user = getUserById(userId);
+        entityManager.refresh(user);
+        return user;
+    }
+
     /**
      * Get user by email
      */
@@ -87,11 +103,11 @@ public class UserService {
             user.setUniversity(university);
         }
         
-        Badge defaultBadge = badgeRepository.findTopByPointsThresholdLessThanEqualOrderByPointsThresholdDesc(0)
-            .orElse(null);
-        user.setCurrentBadge(defaultBadge);
+        user.setCurrentBadge(badgeLadderService.getDefaultBadge());
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        leaderboardIndex.update(savedUser);
+        return savedUser;
     }
 
     /**
@@ -161,7 +177,21 @@ public class UserService {
             user.setUniversity(null);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        leaderboardIndex.update(savedUser);
+        return savedUser;
+    }
+
+    /**
+     * Overwrite user points (admin correction)
+     */
+    @Transactional
+    public User setPoints(Long userId, int points) {
+        User user = getUserById(userId);
+        userRepository.setPoints(userId, points);
+        user.setPoints(points);
+        leaderboardIndex.update(user);
+        return user;
     }
 
     /**
@@ -176,7 +206,7 @@ public class UserService {
      */
     public List<Badge> getAllBadgesWithProgress(Long userId) {
         User user = getUserById(userId);
-        List<Badge> allBadges = badgeRepository.findAllByOrderByPointsThresholdAsc();
+        List<Badge> allBadges = badgeLadderService.getAllBadges();
         
         // The frontend can determine if each badge is earned by comparing
         // user's points with badge threshold
@@ -210,11 +240,10 @@ public class UserService {
         newUser.setRole(UserRole.STUDENT);
         newUser.setPoints(0);
         
-        Badge defaultBadge = badgeRepository.findTopByPointsThresholdLessThanEqualOrderByPointsThresholdDesc(0)
-            .orElse(null);
-        newUser.setCurrentBadge(defaultBadge);
+        newUser.setCurrentBadge(badgeLadderService.getDefaultBadge());
         
         User savedUser = userRepository.save(newUser);
+        leaderboardIndex.update(savedUser);
         log.info("OAuth2 user created successfully with ID: {}", savedUser.getUserId());
         
         return savedUser;
@@ -265,6 +294,7 @@ public class UserService {
         
         // Delete user - cascading will handle related entities
         userRepository.delete(user);
+        leaderboardIndex.remove(userId);
         
         log.info("User {} successfully deleted", userId);
     }
@@ -0,0 +1,273 @@
+package com.example.unihub.service;
+
+import com.example.unihub.enums.LeaderboardWindow;
+import com.example.unihub.repository.PointsLogRepository;
+import com.example.unihub.util.OrderStatisticTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * In-memory rolling-window member rankings (see {@link LeaderboardWindow}). Net points are
+ * kept in per-day buckets for the longest window; each window keeps running totals per
+ * user in order-statistic trees. After a points change commits, the user's total for
+ * that day is re-read from the ledger and the difference applied, so out-of-order or
+ * repeated callbacks converge on the ledger. Days that slid out of a window are
+ * subtracted on every read, and an hourly compaction drops buckets older than the
+ * longest window. Built from the points ledger on startup; like {@link LeaderboardIndex}
+ * it only sees changes committed on this node and is rebuilt on the same resync schedule.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WindowedLeaderboardIndex {
+
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingLong(Ranked::points).reversed()
+            .thenComparingLong(Ranked::userId);
+
+    private final PointsLogRepository pointsLogRepository;
+    private final LeaderboardIndex leaderboardIndex;
+
+    // day -> (userId -> net points that day)
+    private final NavigableMap<LocalDate, Map<Long, Long>> dailyPoints = new TreeMap<>();
+    private final Map<LeaderboardWindow, Ranking> rankings = new EnumMap<>(LeaderboardWindow.class);
+    private LocalDate today = LocalDate.now();
+    // Serializes ledger reads with the writes they feed, see LeaderboardIndex
+    private final Object writeLock = new Object();
+
+    /**
+     * Reload every window from the points ledger
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int size;
+        synchronized (writeLock) {
+            LocalDate now = LocalDate.now();
+            List<Object[]> rows = pointsLogRepository.sumDailyPointsSince(oldestDay(now).atStartOfDay());
+            synchronized (this) {
+                today = now;
+                dailyPoints.clear();
+                rankings.clear();
+                for (Object[] row : rows) {
+                    set((Long) row[0], (LocalDate) row[1], ((Number) row[2]).longValue());
+                }
+            }
+            size = rows.size();
+        }
+        log.info("Windowed leaderboards built from {} daily ledger totals", size);
+    }
+
+    @Scheduled(cron = "${app.leaderboard.resync-cron:0 */10 * * * ?}") // Run every 10 minutes by default
+    public void resync() {
+        rebuild();
+    }
+
+    /**
+     * Re-read the user's ledger total for the day once the surrounding transaction commits
+     */
+    public void record(Long userId, LocalDate day) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                Long total = pointsLogRepository.sumPointsByUserIdBetween(
+                        userId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+                synchronized (this) {
+                    set(userId, day, total != null ? total : 0);
+                }
+            }
+        });
+    }
+
+    /**
+     * Slide the windows forward and drop buckets no window covers any more
+     */
+    @Scheduled(cron = "0 5 * * * ?") // Run hourly at five past
+    public synchronized void compact() {
+        advanceTo(LocalDate.now());
+        dailyPoints.headMap(oldestDay(today)).clear();
+
+        // Re-sync university scopes with the lifetime index, in case members moved
+        rankings.values().forEach(ranking -> ranking.refreshUniversities(this::universityOf));
+        log.debug("Compacted windowed leaderboards, {} daily buckets kept", dailyPoints.size());
+    }
+
+    /**
+     * 1-based rank of the user in the window and scope (null universityId = global), or -1 if not ranked there
+     */
+    public synchronized int getRank(LeaderboardWindow window, Long userId, Long universityId) {
+        advanceTo(LocalDate.now());
+        Ranking ranking = rankings.get(window);
+        return ranking == null ? -1 : ranking.getRank(userId, universityId);
+    }
+
+    /**
+     * (userId, window points) ranked in [offset, offset + limit) of the window and scope
+     */
+    public synchronized List<long[]> getRange(LeaderboardWindow window, Long universityId, int offset, int limit) {
+        advanceTo(LocalDate.now());
+        Ranking ranking = rankings.get(window);
+        if (ranking == null) {
+            return new ArrayList<>();
+        }
+        OrderStatisticTree<Ranked> tree = ranking.tree(universityId);
+        if (tree == null) {
+            return new ArrayList<>();
+        }
+        return tree.range(offset, offset + limit).stream()
+                .map(ranked -> new long[]{ranked.userId(), ranked.points()})
+                .toList();
+    }
+
+    public synchronized int size(LeaderboardWindow window, Long universityId) {
+        advanceTo(LocalDate.now());
+        Ranking ranking = rankings.get(window);
+        if (ranking == null) {
+            return 0;
+        }
+        OrderStatisticTree<Ranked> tree = ranking.tree(universityId);
+        return tree == null ? 0 : tree.size();
+    }
+
+    // Set the user's net points for the day and apply the difference to every window covering it
+    private void set(Long userId, LocalDate day, long points) {
+        if (day.isAfter(today)) {
+            advanceTo(day);
+        }
+        if (day.isBefore(oldestDay(today))) {
+            return;
+        }
+        Map<Long, Long> bucket = dailyPoints.computeIfAbsent(day, d -> new HashMap<>());
+        Long previous = points != 0 ? bucket.put(userId, points) : bucket.remove(userId);
+        long delta = points - (previous != null ? previous : 0);
+        if (delta == 0) {
+            return;
+        }
+        Long universityId = universityOf(userId);
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (!day.isBefore(windowStart(window, today))) {
+                rankings.computeIfAbsent(window, w -> new Ranking()).adjust(userId, delta, universityId);
+            }
+        }
+    }
+
+    // Subtract the days that slid out of each window between today and the new day
+    private void advanceTo(LocalDate now) {
+        if (!now.isAfter(today)) {
+            return;
+        }
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            Ranking ranking = rankings.get(window);
+            if (ranking == null) {
+                continue;
+            }
+            for (Map<Long, Long> day : dailyPoints.subMap(windowStart(window, today), windowStart(window, now)).values()) {
+                day.forEach((userId, points) -> ranking.adjust(userId, -points, universityOf(userId)));
+            }
+        }
+        today = now;
+    }
+
+    private Long universityOf(Long userId) {
+        return leaderboardIndex.getStanding(userId).map(LeaderboardIndex.Standing::universityId).orElse(null);
+    }
+
+    private static LocalDate windowStart(LeaderboardWindow window, LocalDate day) {
+        return day.minusDays(window.getDays() - 1L);
+    }
+
+    private static LocalDate oldestDay(LocalDate day) {
+        return Arrays.stream(LeaderboardWindow.values())
+                .map(window -> windowStart(window, day))
+                .min(Comparator.naturalOrder())
+                .orElse(day);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Running totals of one window, ranked globally and per university
+     */
+    private static final class Ranking {
+        private final OrderStatisticTree<Ranked> global = new OrderStatisticTree<>(ORDER);
+        private final Map<Long, OrderStatisticTree<Ranked>> byUniversity = new HashMap<>();
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        void adjust(Long userId, long delta, Long universityId) {
+            Ranked previous = detach(userId);
+            long points = (previous != null ? previous.points() : 0) + delta;
+            if (points != 0) {
+                attach(new Ranked(userId, points, universityId));
+            }
+        }
+
+        void refreshUniversities(Function<Long, Long> universityOf) {
+            for (Ranked ranked : new ArrayList<>(members.values())) {
+                Long universityId = universityOf.apply(ranked.userId());
+                if (!Objects.equals(universityId, ranked.universityId())) {
+                    detach(ranked.userId());
+                    attach(new Ranked(ranked.userId(), ranked.points(), universityId));
+                }
+            }
+        }
+
+        int getRank(Long userId, Long universityId) {
+            Ranked ranked = members.get(userId);
+            OrderStatisticTree<Ranked> tree = tree(universityId);
+            if (ranked == null || tree == null) {
+                return -1;
+            }
+            int index = tree.indexOf(ranked);
+            return index < 0 ? -1 : index + 1;
+        }
+
+        OrderStatisticTree<Ranked> tree(Long universityId) {
+            return universityId == null ? global : byUniversity.get(universityId);
+        }
+
+        private void attach(Ranked ranked) {
+            members.put(ranked.userId(), ranked);
+            global.add(ranked);
+            if (ranked.universityId() != null) {
+                byUniversity.computeIfAbsent(ranked.universityId(), id -> new OrderStatisticTree<>(ORDER)).add(ranked);
+            }
+        }
+
+        private Ranked detach(Long userId) {
+            Ranked previous = members.remove(userId);
+            if (previous == null) {
+                return null;
+            }
+            global.remove(previous);
+            if (previous.universityId() != null) {
+                OrderStatisticTree<Ranked> tree = byUniversity.get(previous.universityId());
+                if (tree != null) {
+                    tree.remove(previous);
+                }
+            }
+            return previous;
+        }
+    }
+
+    private record Ranked(long userId, long points, Long universityId) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.unihub.util;
+
+import com.example.unihub.model.Badge;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable badge ladder sorted by points threshold. Resolving the badge for a points
+ * total is a binary search over the thresholds.
+ */
+public final class BadgeLadder {
+
+    private final int[] thresholds;
+    private final Badge[] badges;
+
+    public BadgeLadder(List<Badge> badges) {
+        this.badges = badges.stream()
+                .sorted(Comparator.comparingInt(Badge::getPointsThreshold))
+                .toArray(Badge[]::new);
+        this.thresholds = Arrays.stream(this.badges).mapToInt(Badge::getPointsThreshold).toArray();
+    }
+
+    public static BadgeLadder empty() {
+        return new BadgeLadder(List.of());
+    }
+
+    /**
+     * Highest badge whose threshold is at or below the given points
+     */
+    public Optional<Badge> resolve(int points) {
+        int index = Arrays.binarySearch(thresholds, points);
+        if (index < 0) {
+            // Insertion point minus one is the last threshold below points
+            index = -index - 2;
+        } else {
+            // Equal thresholds: take the last one, as ORDER BY threshold DESC LIMIT 1 would
+            while (index + 1 < thresholds.length && thresholds[index + 1] == points) {
+                index++;
+            }
+        }
+        return index >= 0 ? Optional.of(badges[index]) : Optional.empty();
+    }
+
+    /**
+     * All badges, lowest threshold first
+     */
+    public List<Badge> getBadges() {
+        return List.of(badges);
+    }
+
+    /**
+     * Whether both ladders hold the same badges at the same thresholds
+     */
+    public boolean hasSameThresholds(BadgeLadder other) {
+        if (badges.length != other.badges.length) {
+            return false;
+        }
+        for (int i = 0; i < badges.length; i++) {
+            if (!Objects.equals(badges[i].getBadgeId(), other.badges[i].getBadgeId()) || thresholds[i] != other.thresholds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return badges.length;
+    }
+}
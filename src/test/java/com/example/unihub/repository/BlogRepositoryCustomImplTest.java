@@ -0,0 +1,55 @@
+package com.example.unihub.repository;
+
+import org.junit.jupiter.api.Test;
+import static com.example.unihub.repository.BlogRepositoryCustomImpl.EXCERPT_LENGTH;
+import static com.example.unihub.repository.BlogRepositoryCustomImpl.excerpt;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogRepositoryCustomImplTest {
+
+    @Test
+    void testShortContentIsKept() {
+        assertNull(excerpt(null));
+        assertEquals("", excerpt(""));
+        assertEquals("Hello world", excerpt("Hello world"));
+        String exact = "a".repeat(EXCERPT_LENGTH);
+        assertEquals(exact, excerpt(exact));
+    }
+
+    @Test
+    void testLongContentIsCutAtWordBoundary() {
+        // 10-character words: the 200-character cut lands inside a word
+        String text = "abcdefghi ".repeat(30);
+
+        String result = excerpt(text);
+
+        assertTrue(result.endsWith("abcdefghi..."));
+        assertEquals(199 + "...".length(), result.length());
+    }
+
+    @Test
+    void testTrailingSpaceBeforeCutIsStripped() {
+        String text = "word".repeat(30) + "   " + "x".repeat(EXCERPT_LENGTH);
+
+        assertEquals("word".repeat(30) + "...", excerpt(text));
+    }
+
+    @Test
+    void testContentWithoutEarlySpaceIsHardCut() {
+        // The only space is in the first half, so keeping whole words would drop too much
+        String text = "ab " + "c".repeat(EXCERPT_LENGTH * 2);
+
+        String result = excerpt(text);
+
+        assertEquals(EXCERPT_LENGTH + "...".length(), result.length());
+        assertTrue(result.startsWith("ab c"));
+    }
+
+    @Test
+    void testOneCharacterOverTheLimitIsCut() {
+        // The query fetches EXCERPT_LENGTH + 1 characters to detect that content was cut
+        String text = "x".repeat(EXCERPT_LENGTH + 1);
+
+        assertEquals("x".repeat(EXCERPT_LENGTH) + "...", excerpt(text));
+    }
+}
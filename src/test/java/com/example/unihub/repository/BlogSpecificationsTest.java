@@ -0,0 +1,80 @@
+package com.example.unihub.repository;
+
+import com.example.unihub.enums.BlogStatus;
+import com.example.unihub.model.Blog;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BlogSpecificationsTest {
+
+    private Root<Blog> root;
+    private CriteriaQuery<?> query;
+    private CriteriaBuilder cb;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        root = mock(Root.class, RETURNS_DEEP_STUBS);
+        query = mock(CriteriaQuery.class);
+        cb = mock(CriteriaBuilder.class, RETURNS_MOCKS);
+    }
+
+    @Test
+    void testNoFiltersMatchEverything() {
+        assertNull(toPredicate(BlogSpecifications.feed(null, null, null, null, "   ")));
+        verifyNoInteractions(cb);
+    }
+
+    @Test
+    void testApprovedUniversityFeedIncludesGlobalBlogs() {
+        toPredicate(BlogSpecifications.feed(10L, null, BlogStatus.APPROVED, null, null));
+
+        verify(cb).equal(any(), eq(10L));
+        verify(cb).isTrue(any());
+        verify(cb).or(any(), any());
+        verify(cb).equal(any(), eq(BlogStatus.APPROVED));
+    }
+
+    @Test
+    void testOtherStatusesStayInTheirUniversity() {
+        toPredicate(BlogSpecifications.feed(10L, null, BlogStatus.PENDING, null, null));
+
+        verify(cb).equal(any(), eq(10L));
+        verify(cb).equal(any(), eq(BlogStatus.PENDING));
+        verify(cb, never()).isTrue(any());
+        verify(cb, never()).or(any(), any());
+    }
+
+    @Test
+    void testAllFiltersAreCombined() {
+        toPredicate(BlogSpecifications.feed(null, "Tech", BlogStatus.APPROVED, true, "java"));
+
+        verify(cb).equal(any(), eq("Tech"));
+        verify(cb).equal(any(), eq(BlogStatus.APPROVED));
+        verify(cb).equal(any(), eq(true));
+        verify(cb, times(2)).like(any(), eq("%java%"), eq('\\'));
+        // category, status, isGlobal and the title-or-content match
+        verify(cb, times(3)).and(any(), any());
+    }
+
+    @Test
+    void testSearchIsLowercasedTrimmedAndEscaped() {
+        toPredicate(BlogSpecifications.feed(null, null, null, null, "  50%_Off\\ "));
+
+        verify(cb, times(2)).like(any(), eq("%50\\%\\_off\\\\%"), eq('\\'));
+        verify(cb, never()).like(any(), anyString());
+    }
+
+    private Object toPredicate(Specification<Blog> spec) {
+        return spec.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.unihub.service;
+
+import com.example.unihub.model.PendingPointsChange;
+import com.example.unihub.repository.PendingPointsChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GamificationPipelineTest {
+
+    private GamificationService gamificationService;
+    private PendingPointsChangeRepository repository;
+    private GamificationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        gamificationService = mock(GamificationService.class);
+        repository = mock(PendingPointsChangeRepository.class);
+        pipeline = new GamificationPipeline(gamificationService, repository);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 0L);
+    }
+
+    @Test
+    void testBatchIsAppliedPerUserInOrder() {
+        PendingPointsChange first = change(1L, 1L);
+        PendingPointsChange second = change(2L, 2L);
+        PendingPointsChange third = change(3L, 1L);
+        when(repository.findByFailedFalseOrderByPendingPointsChangeIdAsc(any())).thenReturn(List.of(first, second, third));
+
+        assertEquals(3, pipeline.processBatch());
+
+        verify(gamificationService).applyPendingChanges(1L, List.of(first, third));
+        verify(gamificationService).applyPendingChanges(2L, List.of(second));
+        verify(repository, never()).markFailed(anyList(), anyString());
+    }
+
+    @Test
+    void testFailedAttemptIsRetried() {
+        PendingPointsChange change = change(1L, 7L);
+        when(repository.findByFailedFalseOrderByPendingPointsChangeIdAsc(any())).thenReturn(List.of(change));
+        doThrow(new RuntimeException("deadlock detected"))
+                .doNothing()
+                .when(gamificationService).applyPendingChanges(eq(7L), anyList());
+
+        pipeline.processBatch();
+
+        verify(gamificationService, times(2)).applyPendingChanges(7L, List.of(change));
+        verify(repository, never()).markFailed(anyList(), anyString());
+    }
+
+    @Test
+    void testChangesAreMarkedFailedAfterLastAttempt() {
+        PendingPointsChange change = change(5L, 7L);
+        when(repository.findByFailedFalseOrderByPendingPointsChangeIdAsc(any())).thenReturn(List.of(change));
+        doThrow(new RuntimeException("boom")).when(gamificationService).applyPendingChanges(anyLong(), anyList());
+
+        pipeline.processBatch();
+
+        verify(gamificationService, times(3)).applyPendingChanges(7L, List.of(change));
+        verify(repository).markFailed(eq(List.of(5L)), contains("boom"));
+    }
+
+    @Test
+    void testEmptyOutboxAppliesNothing() {
+        when(repository.findByFailedFalseOrderByPendingPointsChangeIdAsc(any())).thenReturn(List.of());
+
+        assertEquals(0, pipeline.processBatch());
+        verifyNoInteractions(gamificationService);
+    }
+
+    @Test
+    void testRetryDelayGrowsLinearly() {
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 200L);
+
+        assertEquals(200, pipeline.retryDelayMs(1));
+        assertEquals(400, pipeline.retryDelayMs(2));
+        assertEquals(600, pipeline.retryDelayMs(3));
+    }
+
+    private static PendingPointsChange change(Long id, Long userId) {
+        PendingPointsChange change = new PendingPointsChange();
+        change.setPendingPointsChangeId(id);
+        change.setUserId(userId);
+        change.setPoints(10);
+        change.setSourceType("EVENT");
+        change.setOccurredAt(LocalDateTime.now());
+        return change;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.unihub.service;
+
+import com.example.unihub.model.University;
+import com.example.unihub.model.User;
+import com.example.unihub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardIndexTest {
+
+    private UserRepository userRepository;
+    private LeaderboardIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new LeaderboardIndex(userRepository);
+        // (userId, points, universityId)
+        when(userRepository.findLeaderboardRows()).thenReturn(rows(
+                row(1L, 100, 10L),
+                row(2L, 80, 10L),
+                row(3L, 80, 20L),
+                row(4L, 50, 20L),
+                row(5L, 10, null)));
+        index.rebuild();
+    }
+
+    @Test
+    void testRanksFollowPointsWithTiesBrokenById() {
+        assertEquals(1, index.getRank(1L, null));
+        assertEquals(2, index.getRank(2L, null));
+        assertEquals(3, index.getRank(3L, null));
+        assertEquals(5, index.getRank(5L, null));
+        assertEquals(1, index.getRank(3L, 20L));
+        assertEquals(-1, index.getRank(3L, 10L));
+        assertEquals(5, index.size(null));
+        assertEquals(2, index.size(10L));
+    }
+
+    @Test
+    void testUpdateAppliesCallerValues() {
+        index.update(user(4L, 90, 20L));
+
+        assertEquals(2, index.getRank(4L, null));
+        assertEquals(90, index.getStanding(4L).orElseThrow().points());
+        assertEquals(List.of(1L, 4L, 2L, 3L, 5L), index.getTopUserIds(null, 10));
+        assertEquals(List.of(4L, 3L), index.getTopUserIds(20L, 10));
+    }
+
+    @Test
+    void testUpdateRecordsShiftedRanks() {
+        index.drainChanges();
+        index.update(user(4L, 90, 20L));
+
+        Map<Long, LeaderboardIndex.RankRange> changes = index.drainChanges();
+        // Moved from 4th to 2nd globally (2nd and 3rd shifted down), 2nd to 1st in its university
+        assertEquals(new LeaderboardIndex.RankRange(2, 4), changes.get(null));
+        assertEquals(new LeaderboardIndex.RankRange(1, 2), changes.get(20L));
+        assertFalse(changes.containsKey(10L));
+        assertTrue(index.drainChanges().isEmpty());
+    }
+
+    @Test
+    void testUniversityChangeMovesBetweenScopes() {
+        index.update(user(2L, 80, 20L));
+
+        assertEquals(1, index.size(10L));
+        assertEquals(List.of(2L, 3L, 4L), index.getTopUserIds(20L, 10));
+        assertEquals(20L, index.getStanding(2L).orElseThrow().universityId());
+    }
+
+    @Test
+    void testRemoveDropsDeletedUser() {
+        index.remove(1L);
+
+        assertEquals(-1, index.getRank(1L, null));
+        assertTrue(index.getStanding(1L).isEmpty());
+        assertEquals(1, index.getRank(2L, null));
+        assertEquals(4, index.size(null));
+    }
+
+    @Test
+    void testChangesDuringRebuildSurviveTheSwap() {
+        // The table read returns rows from before the changes below were applied
+        when(userRepository.findLeaderboardRows()).thenAnswer(invocation -> {
+            index.update(user(5L, 200, null));
+            index.remove(2L);
+            return rows(row(1L, 100, 10L), row(2L, 80, 10L), row(5L, 10, null));
+        });
+        index.rebuild();
+
+        assertEquals(List.of(5L, 1L), index.getTopUserIds(null, 10));
+        assertEquals(200, index.getStanding(5L).orElseThrow().points());
+        assertTrue(index.getStanding(2L).isEmpty());
+        assertEquals(1, index.size(10L));
+    }
+
+    @Test
+    void testNeighborsAreClampedAtTheEnds() {
+        assertEquals(List.of(2L, 3L, 4L), index.getNeighborUserIds(3L, null, 1));
+        assertEquals(List.of(1L, 2L, 3L), index.getNeighborUserIds(1L, null, 2));
+        assertEquals(List.of(4L, 5L), index.getNeighborUserIds(5L, null, 1));
+        assertTrue(index.getNeighborUserIds(99L, null, 1).isEmpty());
+    }
+
+    @Test
+    void testEntriesCarryRanks() {
+        List<LeaderboardIndex.RankedEntry> entries = index.getEntries(null, 1, 2);
+
+        assertEquals(List.of(
+                new LeaderboardIndex.RankedEntry(2L, 80, 2),
+                new LeaderboardIndex.RankedEntry(3L, 80, 3)), entries);
+    }
+
+    private static Object[] row(Long userId, Integer points, Long universityId) {
+        return new Object[]{userId, points, universityId};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static User user(Long userId, int points, Long universityId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setPoints(points);
+        if (universityId != null) {
+            University university = new University();
+            university.setUniversityId(universityId);
+            user.setUniversity(university);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.unihub.service;
+
+import com.example.unihub.repository.PointsDailySourceRollupRepository;
+import com.example.unihub.repository.PointsDailyUserRollupRepository;
+import com.example.unihub.repository.PointsLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PointsRollupServiceTest {
+
+    private PointsLogRepository pointsLogRepository;
+    private PointsDailyUserRollupRepository userRollupRepository;
+    private PointsDailySourceRollupRepository sourceRollupRepository;
+    private PointsRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        pointsLogRepository = mock(PointsLogRepository.class);
+        userRollupRepository = mock(PointsDailyUserRollupRepository.class);
+        sourceRollupRepository = mock(PointsDailySourceRollupRepository.class);
+        service = new PointsRollupService(pointsLogRepository, userRollupRepository, sourceRollupRepository);
+        ReflectionTestUtils.setField(service, "lookbackDays", 2);
+        ReflectionTestUtils.setField(service, "retentionMonths", 12);
+        ReflectionTestUtils.setField(service, "archiveEnabled", true);
+    }
+
+    @Test
+    void testRefreshReaggregatesTheLookbackDays() {
+        LocalDate latest = LocalDate.of(2026, 3, 10);
+        when(userRollupRepository.findLatestDate()).thenReturn(latest);
+
+        service.refreshRollups();
+
+        LocalDate from = LocalDate.of(2026, 3, 8);
+        verify(userRollupRepository).deleteFromDate(from);
+        verify(sourceRollupRepository).deleteFromDate(from);
+        verify(userRollupRepository).rollupFrom(from.atStartOfDay());
+        verify(sourceRollupRepository).rollupFrom(from.atStartOfDay());
+    }
+
+    @Test
+    void testFirstRefreshBackfillsEverything() {
+        when(userRollupRepository.findLatestDate()).thenReturn(null);
+
+        service.refreshRollups();
+
+        verify(userRollupRepository).rollupFrom(LocalDate.of(1970, 1, 1).atStartOfDay());
+    }
+
+    @Test
+    void testRetentionArchivesRowsPastTheWindow() {
+        when(userRollupRepository.findLatestDate()).thenReturn(LocalDate.now());
+
+        service.applyRetention();
+
+        verify(pointsLogRepository).archiveBefore(LocalDate.now().minusMonths(12).atStartOfDay());
+        verify(pointsLogRepository, never()).deleteBefore(any());
+    }
+
+    @Test
+    void testRetentionNeverPassesTheRolledUpDays() {
+        // Rollups stopped long ago; rows after them must stay until they are rolled up
+        LocalDate latest = LocalDate.now().minusMonths(14);
+        when(userRollupRepository.findLatestDate()).thenReturn(latest);
+
+        service.applyRetention();
+
+        verify(pointsLogRepository).archiveBefore(latest.minusDays(2).atStartOfDay());
+    }
+
+    @Test
+    void testRetentionDeletesWhenArchiveIsDisabled() {
+        ReflectionTestUtils.setField(service, "archiveEnabled", false);
+        when(userRollupRepository.findLatestDate()).thenReturn(LocalDate.now());
+
+        service.applyRetention();
+
+        verify(pointsLogRepository).deleteBefore(LocalDate.now().minusMonths(12).atStartOfDay());
+        verify(pointsLogRepository, never()).archiveBefore(any());
+    }
+
+    @Test
+    void testRetentionIsSkippedWithoutRollupsOrWhenDisabled() {
+        when(userRollupRepository.findLatestDate()).thenReturn(null);
+        service.applyRetention();
+
+        ReflectionTestUtils.setField(service, "retentionMonths", 0);
+        when(userRollupRepository.findLatestDate()).thenReturn(LocalDate.now());
+        service.applyRetention();
+
+        verify(pointsLogRepository, never()).archiveBefore(any(LocalDateTime.class));
+        verify(pointsLogRepository, never()).deleteBefore(any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.unihub.service;
+
+import com.example.unihub.enums.LeaderboardWindow;
+import com.example.unihub.repository.PointsLogRepository;
+import com.example.unihub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WindowedLeaderboardIndexTest {
+
+    private final LocalDate today = LocalDate.now();
+    private PointsLogRepository pointsLogRepository;
+    private WindowedLeaderboardIndex index;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findLeaderboardRows()).thenReturn(new ArrayList<>(List.of(
+                new Object[]{1L, 0, 10L},
+                new Object[]{2L, 0, 10L},
+                new Object[]{3L, 0, 20L})));
+        LeaderboardIndex leaderboardIndex = new LeaderboardIndex(userRepository);
+        leaderboardIndex.rebuild();
+
+        pointsLogRepository = mock(PointsLogRepository.class);
+        // (userId, day, net points)
+        when(pointsLogRepository.sumDailyPointsSince(any())).thenReturn(new ArrayList<>(List.of(
+                new Object[]{1L, today.minusDays(10), 50L},
+                new Object[]{2L, today, 20L},
+                new Object[]{2L, today.minusDays(6), 5L})));
+        index = new WindowedLeaderboardIndex(pointsLogRepository, leaderboardIndex);
+        index.rebuild();
+    }
+
+    @Test
+    void testWindowsOnlyCountTheirDays() {
+        assertEquals(1, index.size(LeaderboardWindow.WEEK, null));
+        assertEquals(List.of(2L), userIds(LeaderboardWindow.WEEK, null));
+        assertEquals(List.of(1L, 2L), userIds(LeaderboardWindow.MONTH, null));
+        assertEquals(25L, index.getRange(LeaderboardWindow.WEEK, null, 0, 1).get(0)[1]);
+        assertEquals(2, index.getRank(LeaderboardWindow.MONTH, 2L, 10L));
+        assertEquals(-1, index.getRank(LeaderboardWindow.WEEK, 1L, null));
+    }
+
+    @Test
+    void testRecordAppliesLedgerTotalOnce() {
+        when(pointsLogRepository.sumPointsByUserIdBetween(eq(3L), any(), any())).thenReturn(30L);
+        index.record(3L, today);
+        // A repeated callback re-reads the same total instead of adding it again
+        index.record(3L, today);
+
+        assertEquals(List.of(3L, 2L), userIds(LeaderboardWindow.WEEK, null));
+        assertEquals(30L, index.getRange(LeaderboardWindow.WEEK, 20L, 0, 1).get(0)[1]);
+
+        when(pointsLogRepository.sumPointsByUserIdBetween(eq(3L), any(), any())).thenReturn(0L);
+        index.record(3L, today);
+
+        assertEquals(List.of(2L), userIds(LeaderboardWindow.WEEK, null));
+        assertEquals(0, index.size(LeaderboardWindow.WEEK, 20L));
+    }
+
+    @Test
+    void testDaysExpireWhenTheWindowAdvances() {
+        // A change dated tomorrow moves the windows forward a day
+        LocalDate tomorrow = today.plusDays(1);
+        when(pointsLogRepository.sumPointsByUserIdBetween(eq(3L), any(), any())).thenReturn(1L);
+        index.record(3L, tomorrow);
+
+        // User 2's points from six days ago left the week; today's still count
+        assertEquals(20L, index.getRange(LeaderboardWindow.WEEK, 10L, 0, 1).get(0)[1]);
+        assertEquals(List.of(2L, 3L), userIds(LeaderboardWindow.WEEK, null));
+        assertEquals(List.of(1L, 2L, 3L), userIds(LeaderboardWindow.MONTH, null));
+    }
+
+    private List<Long> userIds(LeaderboardWindow window, Long universityId) {
+        return index.getRange(window, universityId, 0, 10).stream().map(row -> row[0]).toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.unihub.util;
+
+import com.example.unihub.model.Badge;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BadgeLadderTest {
+
+    private final BadgeLadder ladder = new BadgeLadder(List.of(
+            badge(3L, 500),
+            badge(1L, 0),
+            badge(2L, 100)));
+
+    @Test
+    void testResolvePicksHighestThresholdReached() {
+        assertEquals(1L, ladder.resolve(0).orElseThrow().getBadgeId());
+        assertEquals(1L, ladder.resolve(99).orElseThrow().getBadgeId());
+        assertEquals(2L, ladder.resolve(100).orElseThrow().getBadgeId());
+        assertEquals(2L, ladder.resolve(499).orElseThrow().getBadgeId());
+        assertEquals(3L, ladder.resolve(500).orElseThrow().getBadgeId());
+        assertEquals(3L, ladder.resolve(Integer.MAX_VALUE).orElseThrow().getBadgeId());
+    }
+
+    @Test
+    void testResolveBelowLowestThresholdIsEmpty() {
+        BadgeLadder noStarterBadge = new BadgeLadder(List.of(badge(1L, 10), badge(2L, 20)));
+
+        assertTrue(noStarterBadge.resolve(9).isEmpty());
+        assertTrue(noStarterBadge.resolve(-5).isEmpty());
+        assertTrue(BadgeLadder.empty().resolve(100).isEmpty());
+    }
+
+    @Test
+    void testEqualThresholdsResolveToTheLastBadge() {
+        BadgeLadder tied = new BadgeLadder(List.of(badge(1L, 0), badge(2L, 50), badge(3L, 50), badge(4L, 50)));
+
+        assertEquals(4L, tied.resolve(50).orElseThrow().getBadgeId());
+        assertEquals(4L, tied.resolve(60).orElseThrow().getBadgeId());
+        assertEquals(1L, tied.resolve(49).orElseThrow().getBadgeId());
+    }
+
+    @Test
+    void testBadgesAreSortedByThreshold() {
+        assertEquals(List.of(1L, 2L, 3L), ladder.getBadges().stream().map(Badge::getBadgeId).toList());
+        assertEquals(3, ladder.size());
+    }
+
+    @Test
+    void testSameThresholdsComparesIdsAndThresholds() {
+        assertTrue(ladder.hasSameThresholds(new BadgeLadder(List.of(badge(1L, 0), badge(2L, 100), badge(3L, 500)))));
+        assertFalse(ladder.hasSameThresholds(new BadgeLadder(List.of(badge(1L, 0), badge(2L, 150), badge(3L, 500)))));
+        assertFalse(ladder.hasSameThresholds(new BadgeLadder(List.of(badge(1L, 0), badge(2L, 100)))));
+        assertFalse(ladder.hasSameThresholds(BadgeLadder.empty()));
+    }
+
+    private static Badge badge(Long badgeId, int pointsThreshold) {
+        Badge badge = new Badge();
+        badge.setBadgeId(badgeId);
+        badge.setPointsThreshold(pointsThreshold);
+        return badge;
+    }
+}
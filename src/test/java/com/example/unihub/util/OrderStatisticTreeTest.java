@@ -0,0 +1,84 @@
+package com.example.unihub.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void testIndexOfAndGetFollowOrder() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        tree.add(10);
+        tree.add(50);
+        tree.add(30);
+
+        assertEquals(3, tree.size());
+        assertEquals(0, tree.indexOf(50));
+        assertEquals(1, tree.indexOf(30));
+        assertEquals(2, tree.indexOf(10));
+        assertEquals(-1, tree.indexOf(20));
+        assertEquals(30, tree.get(1));
+    }
+
+    @Test
+    void testDuplicatesAreRejected() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertTrue(tree.add(1));
+        assertFalse(tree.add(1));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void testRemove() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(2);
+        tree.add(3);
+
+        assertTrue(tree.remove(2));
+        assertFalse(tree.remove(2));
+        assertEquals(2, tree.size());
+        assertEquals(1, tree.indexOf(3));
+    }
+
+    @Test
+    void testRangeIsClamped() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int i = 0; i < 5; i++) {
+            tree.add(i);
+        }
+
+        assertEquals(List.of(0, 1), tree.range(-3, 2));
+        assertEquals(List.of(3, 4), tree.range(3, 10));
+        assertTrue(tree.range(6, 8).isEmpty());
+    }
+
+    @Test
+    void testMatchesSortedListUnderRandomUpdates() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextBoolean()) {
+                if (tree.add(value)) {
+                    expected.add(value);
+                }
+            } else if (tree.remove(value)) {
+                expected.remove(Integer.valueOf(value));
+            }
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+            assertEquals(i, tree.indexOf(expected.get(i)));
+        }
+    }
+}